@@ -0,0 +1,125 @@
+package carsharingapp.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public final class BenchmarkRunner {
+    private static final String BASELINE_MODE = "baseline";
+    private static final String BENCHMARKS = "carsharingapp\\..*Benchmark";
+    private static final String RESULT_FILE = "target/jmh-result.json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        String mode = args[0];
+        Path baseline = Path.of(args[1]);
+        boolean failOnRegression = Boolean.parseBoolean(args[2]);
+
+        Map<String, Score> scores = scores(new Runner(options()).run());
+        if (BASELINE_MODE.equals(mode)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), scores);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+        List<String> regressions = compare(read(baseline), scores);
+        if (!regressions.isEmpty()) {
+            System.out.println("Regressions outside the baseline's 99.9% confidence interval:");
+            regressions.forEach(System.out::println);
+            if (failOnRegression) {
+                System.exit(1);
+            }
+            System.out.println("Reported only; pass -Dbenchmark.fail-on-regression=true to fail");
+            return;
+        }
+        System.out.println("No regressions against " + baseline);
+    }
+
+    private static Options options() {
+        return new OptionsBuilder()
+                .include(BENCHMARKS)
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .forks(3)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(10)
+                .measurementTime(TimeValue.seconds(2))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+    }
+
+    private static Map<String, Score> scores(Collection<RunResult> results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getBenchmark(), new Score(
+                    result.getPrimaryResult().getScore(),
+                    result.getPrimaryResult().getScoreError()));
+        }
+        return scores;
+    }
+
+    private static Map<String, Score> read(Path baseline) throws IOException {
+        return OBJECT_MAPPER.readValue(baseline.toFile(), new TypeReference<>() {
+        });
+    }
+
+    /**
+     * A benchmark regresses when the lower bound of its current confidence interval lies above
+     * the upper bound of the baseline's, so run-to-run noise of either side never fails the build.
+     */
+    private static List<String> compare(Map<String, Score> baseline, Map<String, Score> scores) {
+        List<String> regressions = new ArrayList<>();
+        scores.forEach((benchmark, score) -> {
+            Score expected = baseline.get(benchmark);
+            if (expected == null) {
+                System.out.printf("%-90s %12.1f +/- %.1f ns/op (new)%n", benchmark, score.score(),
+                        score.error());
+                return;
+            }
+            double change = (score.score() - expected.score()) / expected.score();
+            String line = String.format(
+                    "%-90s %12.1f +/- %.1f ns/op %+7.1f%% (baseline %.1f +/- %.1f)", benchmark,
+                    score.score(), score.error(), change * 100, expected.score(),
+                    expected.error());
+            System.out.println(line);
+            if (score.low() > expected.high()) {
+                regressions.add(line);
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Average time per operation and the half-width of its 99.9% confidence interval.
+     */
+    record Score(double score, double error) {
+        double low() {
+            return score - error;
+        }
+
+        double high() {
+            return score + error;
+        }
+    }
+}
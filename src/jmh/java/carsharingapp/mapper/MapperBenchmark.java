@@ -0,0 +1,85 @@
+package carsharingapp.mapper;
+
+import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.payment.PaymentResponseDto;
+import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.user.UserResponseDto;
+import carsharingapp.mapper.impl.CarMapperImpl;
+import carsharingapp.mapper.impl.PaymentMapperImpl;
+import carsharingapp.mapper.impl.RentalMapperImpl;
+import carsharingapp.mapper.impl.UserMapperImpl;
+import carsharingapp.model.Car;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import carsharingapp.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final CarMapper carMapper = new CarMapperImpl();
+    private final RentalMapper rentalMapper = new RentalMapperImpl();
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+    private Car car;
+    private User user;
+    private Rental rental;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        car = new Car();
+        car.setId(1L);
+        car.setModel("Corolla");
+        car.setBrand("Toyota");
+        car.setType(Car.Type.SEDAN);
+        car.setInventory(5);
+        car.setDailyFee(new BigDecimal("80.00"));
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("customer@example.com");
+        user.setFirstName("Customer");
+        user.setLastName("Customerovich");
+
+        rental = new Rental();
+        rental.setId(1L);
+        rental.setCar(car);
+        rental.setUser(user);
+        rental.setRentalDate(LocalDate.of(2025, 7, 1));
+        rental.setReturnDate(LocalDate.of(2025, 7, 8));
+
+        payment = new Payment();
+        payment.setId(1L);
+        payment.setRental(rental);
+        payment.setType(Payment.Type.PAYMENT);
+        payment.setStatus(Payment.Status.PENDING);
+        payment.setSessionId("cs_test_1");
+        payment.setSessionUrl("https://checkout.stripe.com/c/pay/cs_test_1");
+        payment.setAmountToPay(new BigDecimal("80.00"));
+    }
+
+    @Benchmark
+    public CarDto carToDto() {
+        return carMapper.toDto(car);
+    }
+
+    @Benchmark
+    public RentalResponseDto rentalToDto() {
+        return rentalMapper.toDto(rental);
+    }
+
+    @Benchmark
+    public PaymentResponseDto paymentToDto() {
+        return paymentMapper.toDto(payment);
+    }
+
+    @Benchmark
+    public UserResponseDto userToDto() {
+        return userMapper.toDto(user);
+    }
+}
@@ -0,0 +1,27 @@
+package carsharingapp.notification;
+
+import carsharingapp.dto.rental.UserRentalDigestDto;
+import java.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class TelegramMessageBenchmark {
+    private final TelegramNotificationService notificationService =
+            new TelegramNotificationService(null, null, null);
+    private final UserRentalDigestDto digest = new UserRentalDigestDto(1L, "Customer", 2L);
+    private final LocalDate rentalDate = LocalDate.of(2025, 7, 1);
+    private final LocalDate returnDate = LocalDate.of(2025, 7, 8);
+
+    @Benchmark
+    public String formatOverdueMessage() {
+        return notificationService.formatOverdueMessage("Customer", "Toyota", "Corolla",
+                returnDate, rentalDate);
+    }
+
+    @Benchmark
+    public String formatDigestMessage() {
+        return notificationService.formatDigestMessage(digest);
+    }
+}
@@ -0,0 +1,161 @@
+package carsharingapp.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+@OperationsPerInvocation(EntityInsertBenchmark.ROWS)
+public class EntityInsertBenchmark {
+    static final int ROWS = 500;
+    private static final int WARMUP_INVOCATIONS = 200;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Set<String> ROUND_TRIPS = Set.of("execute", "executeQuery",
+            "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch",
+            "commit", "rollback");
+
+    private SessionFactory sessionFactory;
+    private volatile long roundTripNanos;
+
+    @Setup
+    public void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1");
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(IdentityCar.class)
+                .addAnnotatedClass(SequenceCar.class);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE,
+                withRoundTrips(DataSource.class, h2));
+        sessionFactory = configuration
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .buildSessionFactory();
+        for (int i = 0; i < WARMUP_INVOCATIONS; i++) {
+            insertWithIdentity();
+            insertWithSequence();
+        }
+        deleteRows();
+        roundTripNanos = ROUND_TRIP_NANOS;
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from IdentityCar").executeUpdate();
+            session.createMutationQuery("delete from SequenceCar").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insertWithIdentity() {
+        insert(IdentityCar::new);
+    }
+
+    @Benchmark
+    public void insertWithSequence() {
+        insert(SequenceCar::new);
+    }
+
+    private void insert(IntFunction<Object> factory) {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(factory.apply(i));
+            }
+        });
+    }
+
+    private <T> T withRoundTrips(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (ROUND_TRIPS.contains(method.getName())) {
+                        LockSupport.parkNanos(roundTripNanos);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getReturnType() == Connection.class) {
+                        return withRoundTrips(Connection.class, (Connection) result);
+                    }
+                    if (method.getReturnType() == PreparedStatement.class) {
+                        return withRoundTrips(PreparedStatement.class, (PreparedStatement) result);
+                    }
+                    if (method.getReturnType() == Statement.class) {
+                        return withRoundTrips(Statement.class, (Statement) result);
+                    }
+                    return result;
+                }));
+    }
+
+    @Entity(name = "IdentityCar")
+    @Table(name = "identity_cars")
+    public static class IdentityCar {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String model;
+        private BigDecimal dailyFee;
+
+        protected IdentityCar() {
+        }
+
+        IdentityCar(int index) {
+            this.model = "Model " + index;
+            this.dailyFee = BigDecimal.valueOf(50 + index);
+        }
+    }
+
+    @Entity(name = "SequenceCar")
+    @Table(name = "sequence_cars")
+    public static class SequenceCar {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_cars_seq")
+        @SequenceGenerator(name = "sequence_cars_seq", sequenceName = "sequence_cars_seq",
+                allocationSize = 50)
+        private Long id;
+        private String model;
+        private BigDecimal dailyFee;
+
+        protected SequenceCar() {
+        }
+
+        SequenceCar(int index) {
+            this.model = "Model " + index;
+            this.dailyFee = BigDecimal.valueOf(50 + index);
+        }
+    }
+}
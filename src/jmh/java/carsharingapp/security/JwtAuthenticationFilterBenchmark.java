@@ -0,0 +1,91 @@
+package carsharingapp.security;
+
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark";
+    private static final String EMAIL = "customer@example.com";
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter nonCachingFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        authorization = "Bearer " + jwtUtil.generateToken(EMAIL);
+        CustomUserDetailsService userDetailsService =
+                new CustomUserDetailsService(inMemoryUserRepository(createUser()));
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cachingFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService,
+                new AuthenticationCache(10_000, Duration.ofMinutes(5)), meterRegistry);
+        nonCachingFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService,
+                new AuthenticationCache(10_000, Duration.ZERO), meterRegistry);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedToken() throws ServletException, IOException {
+        return filter(cachingFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse uncachedToken() throws ServletException, IOException {
+        return filter(nonCachingFilter);
+    }
+
+    private MockHttpServletResponse filter(JwtAuthenticationFilter filter)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private User createUser() {
+        Role role = new Role();
+        role.setRoleName(Role.RoleName.ROLE_CUSTOMER);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private UserRepository inMemoryUserRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByEmail".equals(method.getName())) {
+                        return EMAIL.equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,39 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class PaymentAmountBenchmark {
+    private final PaymentServiceImpl paymentService = new PaymentServiceImpl(
+            null, null, null, null, null, null, null);
+    private Rental rental;
+
+    @Setup
+    public void setUp() {
+        Car car = new Car();
+        car.setDailyFee(new BigDecimal("80.00"));
+        rental = new Rental();
+        rental.setCar(car);
+        rental.setRentalDate(LocalDate.of(2025, 7, 1));
+        rental.setReturnDate(LocalDate.of(2025, 7, 8));
+        rental.setActualReturnDate(LocalDate.of(2025, 7, 12));
+    }
+
+    @Benchmark
+    public BigDecimal calculatePayment() {
+        return paymentService.calculateAmount(rental, Payment.Type.PAYMENT);
+    }
+
+    @Benchmark
+    public BigDecimal calculateFine() {
+        return paymentService.calculateAmount(rental, Payment.Type.FINE);
+    }
+}
@@ -0,0 +1,75 @@
+package carsharingapp.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Bookings per day of one car over the half-open periods [from, to). Days are kept in a sparse
+ * segment tree indexed by epoch day, so adding a booking and finding the busiest day of a
+ * period both take O(log days). Subtrees without bookings are dropped.
+ */
+final class BookingCalendar {
+    private static final int DAYS = 1 << 16;
+
+    private Node root;
+
+    int maxBookings(LocalDate from, LocalDate to) {
+        return maxIn(root, 0, DAYS, toDay(from), toDay(to));
+    }
+
+    void add(LocalDate from, LocalDate to, int delta) {
+        int fromDay = toDay(from);
+        int toDay = toDay(to);
+        if (fromDay >= toDay) {
+            throw new IllegalArgumentException("Empty period " + from + " - " + to);
+        }
+        root = addTo(root, 0, DAYS, fromDay, toDay, delta);
+    }
+
+    private int maxIn(Node node, int low, int high, int from, int to) {
+        if (node == null || to <= low || high <= from) {
+            return 0;
+        }
+        if (from <= low && high <= to) {
+            return node.max;
+        }
+        int middle = (low + high) >>> 1;
+        return node.added + Math.max(maxIn(node.left, low, middle, from, to),
+                maxIn(node.right, middle, high, from, to));
+    }
+
+    private Node addTo(Node node, int low, int high, int from, int to, int delta) {
+        Node current = node == null ? new Node() : node;
+        if (from <= low && high <= to) {
+            current.added += delta;
+        } else {
+            int middle = (low + high) >>> 1;
+            if (from < middle) {
+                current.left = addTo(current.left, low, middle, from, to, delta);
+            }
+            if (middle < to) {
+                current.right = addTo(current.right, middle, high, from, to, delta);
+            }
+        }
+        current.max = current.added + Math.max(maxOf(current.left), maxOf(current.right));
+        return current.max == 0 ? null : current;
+    }
+
+    private static int maxOf(Node node) {
+        return node == null ? 0 : node.max;
+    }
+
+    private static int toDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day < 0 || day > DAYS) {
+            throw new IllegalArgumentException("Date out of booking range: " + date);
+        }
+        return (int) day;
+    }
+
+    private static final class Node {
+        private int added;
+        private int max;
+        private Node left;
+        private Node right;
+    }
+}
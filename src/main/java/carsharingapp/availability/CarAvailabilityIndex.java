@@ -0,0 +1,160 @@
+package carsharingapp.availability;
+
+import carsharingapp.dto.rental.RentalPeriodDto;
+import carsharingapp.repository.RentalRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory booking calendars of open rentals, rebuilt from the database at startup and kept
+ * up to date by the rental service. A car has {@code inventory} units on hand plus one unit per
+ * open rental that already holds it, and a period is free while the busiest day of that period
+ * has fewer bookings than units.
+ *
+ * <p>Each node keeps its own index, so it can miss bookings and returns made on other nodes.
+ * The rental service confirms every booking with {@link #hasFreeUnit} against the database
+ * while holding the car's row lock, and {@link #resync}s a car whenever the index turned down a
+ * booking, since only the database may reject one.
+ */
+@Component
+@RequiredArgsConstructor
+public class CarAvailabilityIndex {
+    private final RentalRepository rentalRepository;
+    private final Map<Long, CarBookings> bookings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        Map<Long, CarBookings> rebuilt = new HashMap<>();
+        for (RentalPeriodDto rental : rentalRepository.findOpenRentalPeriods()) {
+            rebuilt.computeIfAbsent(rental.getCarId(), id -> new CarBookings()).add(rental);
+        }
+        bookings.clear();
+        bookings.putAll(rebuilt);
+    }
+
+    /**
+     * Whether one more booking of {@code [from, to)} fits a car with {@code inventory} units on
+     * hand, given all of its open rentals that hold a unit or overlap the period.
+     */
+    public static boolean hasFreeUnit(List<RentalPeriodDto> openRentals, int inventory,
+                                      LocalDate from, LocalDate to) {
+        CarBookings car = new CarBookings();
+        openRentals.forEach(car::add);
+        return car.calendar.maxBookings(from, to) < inventory + car.heldUnits;
+    }
+
+    public boolean tryBook(Long carId, int inventory, LocalDate from, LocalDate to) {
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            if (car.calendar.maxBookings(from, to) >= inventory + car.heldUnits) {
+                return false;
+            }
+            car.calendar.add(from, to, 1);
+            return true;
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a booking the database has already confirmed, whatever this node's view of the car.
+     */
+    public void book(Long carId, LocalDate from, LocalDate to) {
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            car.calendar.add(from, to, 1);
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    public void cancel(Long carId, LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            return;
+        }
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            car.calendar.add(from, to, -1);
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces what this node knows about a car with {@code openRentals}, all of its open
+     * rentals as read from the database under the car's row lock.
+     */
+    public void resync(Long carId, List<RentalPeriodDto> openRentals) {
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            car.calendar = new BookingCalendar();
+            car.heldUnits = 0;
+            openRentals.forEach(car::add);
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    public int freeUnits(Long carId, int inventory, LocalDate from, LocalDate to) {
+        CarBookings car = bookings.get(carId);
+        if (car == null) {
+            return inventory;
+        }
+        car.lock.lock();
+        try {
+            return Math.max(0, inventory + car.heldUnits - car.calendar.maxBookings(from, to));
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    public void holdUnit(Long carId) {
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            car.heldUnits++;
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    public void releaseUnit(Long carId) {
+        CarBookings car = bookings.computeIfAbsent(carId, id -> new CarBookings());
+        car.lock.lock();
+        try {
+            car.heldUnits--;
+        } finally {
+            car.lock.unlock();
+        }
+    }
+
+    /**
+     * Guarded by a {@link ReentrantLock} rather than a monitor, so request threads waiting on a
+     * busy car do not pin their carrier thread.
+     */
+    private static final class CarBookings {
+        private final ReentrantLock lock = new ReentrantLock();
+        private BookingCalendar calendar = new BookingCalendar();
+        private int heldUnits;
+
+        private void add(RentalPeriodDto rental) {
+            if (rental.getReturnDate().isAfter(rental.getRentalDate())) {
+                calendar.add(rental.getRentalDate(), rental.getReturnDate(), 1);
+            }
+            if (rental.isInventoryReserved()) {
+                heldUnits++;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package carsharingapp.cache;
+
+import carsharingapp.dto.car.CarDto;
+import carsharingapp.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CarCatalogCache {
+    private final Cache<Long, CarDto> cars;
+    private final Cache<Pageable, CarPage> pages;
+    private final CarCatalogInvalidationBus invalidationBus;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CarCatalogCache(@Value("${car.catalog.cache.max-cars}") long maxCars,
+                           @Value("${car.catalog.cache.max-pages}") long maxPages,
+                           @Value("${car.catalog.cache.ttl}") Duration ttl,
+                           CarCatalogInvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry) {
+        this.cars = Caffeine.newBuilder()
+                .maximumSize(maxCars)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidationBus = invalidationBus;
+        CaffeineCacheMetrics.monitor(meterRegistry, cars, "car.catalog.cars");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "car.catalog.pages");
+        invalidationBus.subscribe(this::apply);
+    }
+
+    public CarDto getCar(Long id, Function<Long, CarDto> loader) {
+        CarDto cached = cars.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generationBefore = generation.get();
+        CarDto car = loader.apply(id);
+        putIfCurrent(cars, id, car, generationBefore);
+        return car;
+    }
+
+    public Page<CarDto> getPage(Pageable pageable,
+                                Function<Pageable, Page<CarDto>> pageLoader,
+                                Function<Collection<Long>, Map<Long, CarDto>> carsLoader) {
+        CarPage cached = pages.getIfPresent(pageable);
+        if (cached != null) {
+            Map<Long, CarDto> content = cars.getAll(cached.ids(),
+                    ids -> carsLoader.apply(List.copyOf(ids)));
+            if (content.size() == cached.ids().size()) {
+                return new PageImpl<>(cached.ids().stream().map(content::get).toList(),
+                        pageable, cached.total());
+            }
+            pages.invalidateAll();
+        }
+        long generationBefore = generation.get();
+        Page<CarDto> page = pageLoader.apply(pageable);
+        page.forEach(car -> putIfCurrent(cars, car.getId(), car, generationBefore));
+        putIfCurrent(pages, pageable, new CarPage(page.map(CarDto::getId).getContent(),
+                page.getTotalElements()), generationBefore);
+        return page;
+    }
+
+    public void evictCar(Long carId) {
+        TransactionUtil.afterCommit(
+                () -> invalidationBus.publish(CarCatalogInvalidation.car(carId)));
+    }
+
+    public void evictCatalog(Long carId) {
+        TransactionUtil.afterCommit(
+                () -> invalidationBus.publish(CarCatalogInvalidation.catalog(carId)));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cars.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    /**
+     * Caches {@code value} unless an invalidation arrived since it was loaded. The check runs
+     * under the entry's lock and invalidations bump the generation before removing entries, so
+     * an invalidation either stops the put or removes the entry after it.
+     */
+    private <K, V> void putIfCurrent(Cache<K, V> cache, K key, V value, long generationBefore) {
+        cache.asMap().compute(key,
+                (k, cached) -> generation.get() == generationBefore ? value : cached);
+    }
+
+    private void apply(CarCatalogInvalidation invalidation) {
+        generation.incrementAndGet();
+        if (invalidation.carId() != null) {
+            cars.invalidate(invalidation.carId());
+        }
+        if (invalidation.catalogChanged()) {
+            pages.invalidateAll();
+        }
+    }
+
+    private record CarPage(List<Long> ids, long total) {
+    }
+}
@@ -0,0 +1,11 @@
+package carsharingapp.cache;
+
+public record CarCatalogInvalidation(Long carId, boolean catalogChanged) {
+    public static CarCatalogInvalidation car(Long carId) {
+        return new CarCatalogInvalidation(carId, false);
+    }
+
+    public static CarCatalogInvalidation catalog(Long carId) {
+        return new CarCatalogInvalidation(carId, true);
+    }
+}
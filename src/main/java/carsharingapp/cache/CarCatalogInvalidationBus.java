@@ -0,0 +1,9 @@
+package carsharingapp.cache;
+
+import java.util.function.Consumer;
+
+public interface CarCatalogInvalidationBus {
+    void publish(CarCatalogInvalidation invalidation);
+
+    void subscribe(Consumer<CarCatalogInvalidation> listener);
+}
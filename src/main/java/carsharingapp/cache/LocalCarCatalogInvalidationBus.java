@@ -0,0 +1,20 @@
+package carsharingapp.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalCarCatalogInvalidationBus implements CarCatalogInvalidationBus {
+    private final List<Consumer<CarCatalogInvalidation>> listeners =
+            new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CarCatalogInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CarCatalogInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
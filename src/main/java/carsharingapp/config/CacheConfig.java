@@ -0,0 +1,16 @@
+package carsharingapp.config;
+
+import carsharingapp.cache.CarCatalogInvalidationBus;
+import carsharingapp.cache.LocalCarCatalogInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    @ConditionalOnMissingBean(CarCatalogInvalidationBus.class)
+    public CarCatalogInvalidationBus carCatalogInvalidationBus() {
+        return new LocalCarCatalogInvalidationBus();
+    }
+}
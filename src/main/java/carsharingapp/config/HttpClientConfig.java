@@ -0,0 +1,44 @@
+package carsharingapp.config;
+
+import carsharingapp.payment.JdkStripeHttpClient;
+import com.stripe.StripeClient;
+import com.stripe.net.LiveStripeResponseGetter;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class HttpClientConfig {
+    @Bean
+    public HttpClient outboundHttpClient(
+            @Value("${http.client.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder,
+                                     HttpClient outboundHttpClient,
+                                     @Value("${http.client.read-timeout}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    @Bean
+    public StripeClient stripeClient(HttpClient outboundHttpClient) {
+        return new StripeClient(new LiveStripeResponseGetter(
+                new JdkStripeHttpClient(outboundHttpClient)));
+    }
+}
@@ -1,15 +1,23 @@
 package carsharingapp.controller;
 
 import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.car.CarImportReportDto;
+import carsharingapp.dto.car.CarSearchParametersDto;
+import carsharingapp.dto.car.CarSearchResultDto;
 import carsharingapp.dto.car.CreateCarRequestDto;
 import carsharingapp.service.CarService;
+import carsharingapp.service.CarTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,15 +27,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Car management", description = "Endpoints for managing cars")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/cars")
 public class CarsController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final CarService carService;
+    private final CarTransferService carTransferService;
 
     @PreAuthorize("hasRole('ROLE_MANAGER')")
     @Operation(summary = "Create a new car", description = "Create a new car")
@@ -37,6 +50,38 @@ public class CarsController {
         return carService.save(carDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Import cars from JSON lines",
+            description = "Bulk create cars from a JSON-lines payload, one car per line")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CarImportReportDto importCarsFromJsonLines(InputStream payload) {
+        return carTransferService.importCars(payload, CarTransferService.Format.NDJSON);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Import cars from CSV",
+            description = "Bulk create cars from a CSV payload with a header row "
+                    + "(model,brand,type,inventory,dailyFee)")
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public CarImportReportDto importCarsFromCsv(InputStream payload) {
+        return carTransferService.importCars(payload, CarTransferService.Format.CSV);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Export cars as JSON lines",
+            description = "Stream the whole fleet, one car per line")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCarsAsJsonLines() {
+        return export(MediaType.APPLICATION_NDJSON, CarTransferService.Format.NDJSON);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Export cars as CSV", description = "Stream the whole fleet as CSV")
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCarsAsCsv() {
+        return export(MediaType.parseMediaType(TEXT_CSV_VALUE), CarTransferService.Format.CSV);
+    }
+
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @Operation(summary = "Get all cars",
             description = "Get paginated and sorted list of all available cars")
@@ -45,6 +90,27 @@ public class CarsController {
         return carService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Search available cars",
+            description = "Filter cars by type, brand, daily fee range and stock, ordered by "
+                    + "daily fee. Pass nextAfterFee and nextAfterId from the previous response "
+                    + "as afterFee and afterId to get the next page")
+    @GetMapping("/search")
+    public CarSearchResultDto search(@Valid CarSearchParametersDto parameters) {
+        return carService.search(parameters);
+    }
+
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Get cars free for a period",
+            description = "Get paginated and sorted list of cars with at least one unit not "
+                    + "booked on any day from the start date up to, but not including, the end "
+                    + "date")
+    @GetMapping("/available")
+    public Page<CarDto> getAvailable(@RequestParam LocalDate from, @RequestParam LocalDate to,
+                                     Pageable pageable) {
+        return carService.findAvailable(from, to, pageable);
+    }
+
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @Operation(summary = "Get car's detailed information",
             description = "Get car's detailed information")
@@ -76,4 +142,10 @@ public class CarsController {
     public void delete(@PathVariable Long id) {
         carService.delete(id);
     }
+
+    private ResponseEntity<StreamingResponseBody> export(MediaType mediaType,
+                                                         CarTransferService.Format format) {
+        StreamingResponseBody body = output -> carTransferService.exportCars(output, format);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
 }
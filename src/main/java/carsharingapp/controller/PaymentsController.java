@@ -1,10 +1,12 @@
 package carsharingapp.controller;
 
+import carsharingapp.dto.payment.PaymentExportFilterDto;
 import carsharingapp.dto.payment.PaymentRequestDto;
 import carsharingapp.dto.payment.PaymentResponseDto;
 import carsharingapp.exception.NotificationException;
-import carsharingapp.model.User;
+import carsharingapp.service.PaymentExportService;
 import carsharingapp.service.PaymentService;
+import carsharingapp.service.PaymentWebhookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,31 +14,61 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Payments management", description = "Endpoints for managing payments")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/payments")
 public class PaymentsController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final PaymentExportService paymentExportService;
 
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_MANAGER')")
     @Operation(summary = "Get all payments by user id",
             description = "Get all payments by user id")
     @GetMapping
-    public Page<PaymentResponseDto> getPaymentsByUserId(@AuthenticationPrincipal User user,
+    public Page<PaymentResponseDto> getPaymentsByUserId(Authentication authentication,
                                                         Pageable pageable) {
-        return paymentService.getPayments(user, pageable);
+        return paymentService.getPayments(authentication, pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Export payments as JSON lines",
+            description = "Stream payments ordered by id, one per line, optionally filtered by "
+                    + "creation date and status. Pass the id of the last received payment as "
+                    + "afterId to resume an interrupted export")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPaymentsAsJsonLines(
+            @Valid PaymentExportFilterDto filter) {
+        return export(filter, MediaType.APPLICATION_NDJSON, PaymentExportService.Format.NDJSON);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Export payments as CSV",
+            description = "Stream payments ordered by id as CSV, optionally filtered by creation "
+                    + "date and status. Pass the id of the last received payment as afterId to "
+                    + "resume an interrupted export")
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPaymentsAsCsv(
+            @Valid PaymentExportFilterDto filter) {
+        return export(filter, MediaType.parseMediaType(TEXT_CSV_VALUE),
+                PaymentExportService.Format.CSV);
     }
 
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
@@ -49,11 +81,11 @@ public class PaymentsController {
     }
 
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_MANAGER')")
-    @Operation(summary = "Handle success payment", description = "Handle success payment")
+    @Operation(summary = "Handle success payment",
+            description = "Get payment status after redirect from Stripe")
     @GetMapping("/success/{sessionId}")
-    public void handleSuccess(@PathVariable("sessionId") String sessionId)
-            throws NotificationException {
-        paymentService.paymentSuccess(sessionId);
+    public PaymentResponseDto handleSuccess(@PathVariable("sessionId") String sessionId) {
+        return paymentService.paymentSuccess(sessionId);
     }
 
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_MANAGER')")
@@ -63,4 +95,19 @@ public class PaymentsController {
             throws NotificationException {
         paymentService.paymentCancel(sessionId);
     }
+
+    @Operation(summary = "Receive Stripe webhook", description = "Receive Stripe webhook")
+    @PostMapping("/webhook")
+    public void handleWebhook(@RequestBody String payload,
+                              @RequestHeader("Stripe-Signature") String signature) {
+        paymentWebhookService.handleEvent(payload, signature);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(PaymentExportFilterDto filter,
+                                                         MediaType mediaType,
+                                                         PaymentExportService.Format format) {
+        StreamingResponseBody body = output ->
+                paymentExportService.exportPayments(filter, output, format);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
 }
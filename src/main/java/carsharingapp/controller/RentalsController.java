@@ -1,15 +1,20 @@
 package carsharingapp.controller;
 
+import carsharingapp.dto.rental.BulkRentalReturnRequestDto;
 import carsharingapp.dto.rental.RentalRequestDto;
 import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.RentalReturnReportDto;
 import carsharingapp.dto.rental.RentalUpdateDto;
 import carsharingapp.exception.NotificationException;
 import carsharingapp.service.RentalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -44,10 +49,11 @@ public class RentalsController {
     @Operation(summary = "Get all statuses and rentals by user id",
             description = "Get all statuses and rentals by user id")
     @GetMapping
-    public List<RentalResponseDto> getRentalsByUserId(
+    public Page<RentalResponseDto> getRentalsByUserId(
             @RequestParam Long userId,
-            @RequestParam(required = false) Boolean isActive) {
-        return rentalService.getRentalsByUserId(userId, isActive);
+            @RequestParam(required = false) Boolean isActive,
+            @PageableDefault(sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        return rentalService.getRentalsByUserId(userId, isActive, pageable);
     }
 
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_MANAGER')")
@@ -60,6 +66,16 @@ public class RentalsController {
         return rentalService.getSpecificRentalByUser_Id_And_Rental_Id(userId, rentalId);
     }
 
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Return rentals in bulk",
+            description = "Set actual return dates of many rentals in one transaction and "
+                    + "report the outcome of every item")
+    @PutMapping("/return")
+    public RentalReturnReportDto returnRentals(
+            @RequestBody @Valid BulkRentalReturnRequestDto requestDto) {
+        return rentalService.returnRentals(requestDto);
+    }
+
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_MANAGER')")
     @Operation(summary = "Set actual return date", description = "Set actual return date")
     @PutMapping("/{rentalId}/return")
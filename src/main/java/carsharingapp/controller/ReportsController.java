@@ -0,0 +1,58 @@
+package carsharingapp.controller;
+
+import carsharingapp.dto.report.CarTypeStatsDto;
+import carsharingapp.dto.report.DailyCarTypeStatsDto;
+import carsharingapp.dto.report.ReportPeriodDto;
+import carsharingapp.model.Car;
+import carsharingapp.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Reports", description = "Endpoints for revenue and fleet utilization reports")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/reports")
+public class ReportsController {
+    private final ReportService reportService;
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Get daily stats per car type",
+            description = "Get revenue, started, returned and overdue rentals and utilization "
+                    + "per day and car type, optionally for a single car type")
+    @GetMapping("/daily")
+    public List<DailyCarTypeStatsDto> getDailyStats(
+            @Valid ReportPeriodDto period,
+            @RequestParam(required = false) Car.Type carType) {
+        return reportService.getDailyStats(period.getFrom(), period.getTo(), carType);
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Get stats per car type for a period",
+            description = "Get revenue, started and returned rentals and utilization summed "
+                    + "over the period per car type")
+    @GetMapping("/car-types")
+    public List<CarTypeStatsDto> getCarTypeTotals(@Valid ReportPeriodDto period) {
+        return reportService.getCarTypeTotals(period.getFrom(), period.getTo());
+    }
+
+    @PreAuthorize("hasRole('ROLE_MANAGER')")
+    @Operation(summary = "Rebuild daily stats",
+            description = "Recompute the daily stats of the period from rentals and payments, "
+                    + "e.g. to backfill history or after correcting data")
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuild(@Valid ReportPeriodDto period) {
+        reportService.rebuild(period.getFrom(), period.getTo());
+    }
+}
@@ -0,0 +1,32 @@
+package carsharingapp.controller;
+
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.notification.TelegramWebhookReceiver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Telegram", description = "Endpoints for receiving Telegram bot updates")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/telegram")
+@ConditionalOnProperty(name = "telegram.updates.mode", havingValue = "webhook")
+public class TelegramWebhookController {
+    private static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final TelegramWebhookReceiver webhookReceiver;
+
+    @Operation(summary = "Receive Telegram update", description = "Receive Telegram update")
+    @PostMapping("/webhook")
+    public void handleUpdate(@RequestBody TelegramUpdateDto update,
+                             @RequestHeader(value = SECRET_TOKEN_HEADER, required = false)
+                             String secretToken) {
+        webhookReceiver.receive(update, secretToken);
+    }
+}
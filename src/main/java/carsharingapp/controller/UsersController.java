@@ -1,5 +1,6 @@
 package carsharingapp.controller;
 
+import carsharingapp.dto.user.TelegramLinkResponseDto;
 import carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import carsharingapp.dto.user.UserResponseDto;
@@ -12,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -47,4 +49,13 @@ public class UsersController {
                                              Authentication authentication) {
         return userService.updateProfileInfo(authentication.getName(), requestDto);
     }
+
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Create Telegram link",
+            description = "Create a one-time Telegram deep link that binds the bot chat "
+                    + "to my account")
+    @PostMapping("/me/telegram-link")
+    public TelegramLinkResponseDto createTelegramLink(Authentication authentication) {
+        return userService.createTelegramLink(authentication.getName());
+    }
 }
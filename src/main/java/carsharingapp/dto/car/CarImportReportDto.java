@@ -0,0 +1,16 @@
+package carsharingapp.dto.car;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarImportReportDto {
+    private int total;
+    private int created;
+    private int rejected;
+    private int failed;
+    private List<CarImportRowResultDto> rows = new ArrayList<>();
+}
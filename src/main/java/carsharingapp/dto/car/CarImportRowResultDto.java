@@ -0,0 +1,20 @@
+package carsharingapp.dto.car;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarImportRowResultDto {
+    private long row;
+    private Long carId;
+    private Status status;
+    private List<String> errors = List.of();
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+}
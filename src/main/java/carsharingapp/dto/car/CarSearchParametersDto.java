@@ -0,0 +1,34 @@
+package carsharingapp.dto.car;
+
+import carsharingapp.model.Car.Type;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarSearchParametersDto {
+    private Type type;
+    private String brand;
+    @PositiveOrZero
+    private BigDecimal minFee;
+    @PositiveOrZero
+    private BigDecimal maxFee;
+    private boolean inStock;
+    private BigDecimal afterFee;
+    @Positive
+    private Long afterId;
+    @Min(1)
+    @Max(100)
+    private int size = 20;
+
+    @AssertTrue(message = "afterFee and afterId must be given together")
+    public boolean isCursorComplete() {
+        return (afterFee == null) == (afterId == null);
+    }
+}
@@ -0,0 +1,14 @@
+package carsharingapp.dto.car;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarSearchResultDto {
+    private List<CarDto> cars;
+    private BigDecimal nextAfterFee;
+    private Long nextAfterId;
+}
@@ -0,0 +1,20 @@
+package carsharingapp.dto.payment;
+
+import carsharingapp.model.Payment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentExportDto {
+    private Long id;
+    private Payment.Type type;
+    private Payment.Status status;
+    private BigDecimal amountToPay;
+    private String sessionId;
+    private LocalDateTime createdAt;
+}
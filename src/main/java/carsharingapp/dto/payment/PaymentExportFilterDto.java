@@ -0,0 +1,23 @@
+package carsharingapp.dto.payment;
+
+import carsharingapp.model.Payment;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class PaymentExportFilterDto {
+    private LocalDate from;
+    private LocalDate to;
+    private Payment.Status status;
+    @Positive
+    private Long afterId;
+
+    @AssertTrue(message = "from must not be after to")
+    public boolean isPeriodValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+}
@@ -0,0 +1,17 @@
+package carsharingapp.dto.rental;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BulkRentalReturnRequestDto {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull RentalReturnItemDto> returns;
+}
@@ -0,0 +1,17 @@
+package carsharingapp.dto.rental;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RentalNotificationDto {
+    private Long rentalId;
+    private Long userId;
+    private String userFirstName;
+    private String carBrand;
+    private String carModel;
+    private LocalDate rentalDate;
+    private LocalDate returnDate;
+}
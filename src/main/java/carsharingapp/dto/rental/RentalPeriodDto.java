@@ -0,0 +1,14 @@
+package carsharingapp.dto.rental;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RentalPeriodDto {
+    private Long carId;
+    private LocalDate rentalDate;
+    private LocalDate returnDate;
+    private boolean inventoryReserved;
+}
@@ -0,0 +1,18 @@
+package carsharingapp.dto.rental;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class RentalReturnItemDto {
+    @NotNull
+    @Positive
+    private Long rentalId;
+
+    @NotNull
+    private LocalDate returnDate;
+}
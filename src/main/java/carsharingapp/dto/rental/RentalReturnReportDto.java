@@ -0,0 +1,15 @@
+package carsharingapp.dto.rental;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class RentalReturnReportDto {
+    private int total;
+    private int returned;
+    private int rejected;
+    private List<RentalReturnResultDto> items = new ArrayList<>();
+}
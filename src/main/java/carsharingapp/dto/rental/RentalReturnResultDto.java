@@ -0,0 +1,18 @@
+package carsharingapp.dto.rental;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class RentalReturnResultDto {
+    private Long rentalId;
+    private Status status;
+    private List<String> errors = List.of();
+
+    public enum Status {
+        RETURNED,
+        REJECTED
+    }
+}
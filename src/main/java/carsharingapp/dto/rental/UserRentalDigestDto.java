@@ -0,0 +1,12 @@
+package carsharingapp.dto.rental;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserRentalDigestDto {
+    private Long userId;
+    private String userFirstName;
+    private Long activeRentals;
+}
@@ -0,0 +1,32 @@
+package carsharingapp.dto.report;
+
+import carsharingapp.model.Car;
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class CarTypeStatsDto {
+    private Car.Type carType;
+    private BigDecimal paymentRevenue;
+    private BigDecimal fineRevenue;
+    private long rentalsStarted;
+    private long rentalsReturned;
+    private long rentedCarDays;
+    private long fleetCarDays;
+    private BigDecimal utilization;
+
+    public CarTypeStatsDto(Car.Type carType, BigDecimal paymentRevenue, BigDecimal fineRevenue,
+                           long rentalsStarted, long rentalsReturned, long rentedCarDays,
+                           long fleetCarDays) {
+        this.carType = carType;
+        this.paymentRevenue = paymentRevenue;
+        this.fineRevenue = fineRevenue;
+        this.rentalsStarted = rentalsStarted;
+        this.rentalsReturned = rentalsReturned;
+        this.rentedCarDays = rentedCarDays;
+        this.fleetCarDays = fleetCarDays;
+        this.utilization = Utilization.of(rentedCarDays, fleetCarDays);
+    }
+}
@@ -0,0 +1,37 @@
+package carsharingapp.dto.report;
+
+import carsharingapp.model.Car;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class DailyCarTypeStatsDto {
+    private LocalDate date;
+    private Car.Type carType;
+    private BigDecimal paymentRevenue;
+    private BigDecimal fineRevenue;
+    private int rentalsStarted;
+    private int rentalsReturned;
+    private int rentalsOverdue;
+    private int rentedCars;
+    private int fleetSize;
+    private BigDecimal utilization;
+
+    public DailyCarTypeStatsDto(LocalDate date, Car.Type carType, BigDecimal paymentRevenue,
+                                BigDecimal fineRevenue, int rentalsStarted, int rentalsReturned,
+                                int rentalsOverdue, int rentedCars, int fleetSize) {
+        this.date = date;
+        this.carType = carType;
+        this.paymentRevenue = paymentRevenue;
+        this.fineRevenue = fineRevenue;
+        this.rentalsStarted = rentalsStarted;
+        this.rentalsReturned = rentalsReturned;
+        this.rentalsOverdue = rentalsOverdue;
+        this.rentedCars = rentedCars;
+        this.fleetSize = fleetSize;
+        this.utilization = Utilization.of(rentedCars, fleetSize);
+    }
+}
@@ -0,0 +1,26 @@
+package carsharingapp.dto.report;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class ReportPeriodDto {
+    public static final int MAX_DAYS = 366;
+
+    @NotNull
+    private LocalDate from;
+    @NotNull
+    private LocalDate to;
+
+    @AssertTrue(message = "from must not be after to and the period must not exceed "
+            + MAX_DAYS + " days")
+    public boolean isPeriodValid() {
+        return from == null || to == null
+                || !from.isAfter(to) && ChronoUnit.DAYS.between(from, to) < MAX_DAYS;
+    }
+}
@@ -0,0 +1,19 @@
+package carsharingapp.dto.report;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+final class Utilization {
+    private static final int SCALE = 4;
+
+    private Utilization() {
+    }
+
+    static BigDecimal of(long rented, long fleet) {
+        if (fleet <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(rented).divide(BigDecimal.valueOf(fleet), SCALE,
+                RoundingMode.HALF_UP);
+    }
+}
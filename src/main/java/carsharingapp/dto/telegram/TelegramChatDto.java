@@ -0,0 +1,12 @@
+package carsharingapp.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelegramChatDto {
+    private long id;
+}
@@ -0,0 +1,13 @@
+package carsharingapp.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelegramMessageDto {
+    private String text;
+    private TelegramChatDto chat;
+}
@@ -0,0 +1,15 @@
+package carsharingapp.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelegramUpdateDto {
+    @JsonProperty("update_id")
+    private long updateId;
+    private TelegramMessageDto message;
+}
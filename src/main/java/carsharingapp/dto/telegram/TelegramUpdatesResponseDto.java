@@ -0,0 +1,12 @@
+package carsharingapp.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelegramUpdatesResponseDto {
+    private boolean ok;
+    private List<TelegramUpdateDto> result = List.of();
+}
@@ -0,0 +1,10 @@
+package carsharingapp.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TelegramLinkResponseDto {
+    private String link;
+}
@@ -0,0 +1,15 @@
+package carsharingapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CarImportException extends RuntimeException {
+    public CarImportException(String message) {
+        super(message);
+    }
+
+    public CarImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
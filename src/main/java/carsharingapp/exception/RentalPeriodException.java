@@ -0,0 +1,15 @@
+package carsharingapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class RentalPeriodException extends RuntimeException {
+    public RentalPeriodException(String message) {
+        super(message);
+    }
+
+    public RentalPeriodException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
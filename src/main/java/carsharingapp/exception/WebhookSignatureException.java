@@ -0,0 +1,15 @@
+package carsharingapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class WebhookSignatureException extends RuntimeException {
+    public WebhookSignatureException(String message) {
+        super(message);
+    }
+
+    public WebhookSignatureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,68 @@
+package carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@IdClass(DailyCarTypeStats.Key.class)
+@Table(name = "daily_car_type_stats")
+public class DailyCarTypeStats {
+    @Id
+    private LocalDate statDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Car.Type carType;
+
+    @Column(nullable = false)
+    private BigDecimal paymentRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal fineRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private int rentalsStarted;
+
+    @Column(nullable = false)
+    private int rentalsReturned;
+
+    @Column(nullable = false)
+    private int rentalsOverdue;
+
+    @Column(nullable = false)
+    private int rentedCars;
+
+    @Column(nullable = false)
+    private int fleetSize;
+
+    public DailyCarTypeStats() {
+    }
+
+    public DailyCarTypeStats(LocalDate statDate, Car.Type carType) {
+        this.statDate = statDate;
+        this.carType = carType;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private Car.Type carType;
+    }
+}
@@ -8,7 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.MapsId;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import lombok.Getter;
@@ -24,7 +24,8 @@ import org.hibernate.annotations.SQLRestriction;
 @Table(name = "rentals")
 public class Rental {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rentals_seq")
+    @SequenceGenerator(name = "rentals_seq", sequenceName = "rentals_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,7 +37,6 @@ public class Rental {
     private LocalDate actualReturnDate;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @MapsId
     @JoinColumn(name = "car_id", nullable = false)
     private Car car;
 
@@ -44,6 +44,12 @@ public class Rental {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(nullable = false)
+    private boolean inventoryReserved;
+
+    @Column(nullable = false)
+    private boolean activationFailed;
+
     @Column(nullable = false)
     private boolean isDeleted = false;
 }
@@ -0,0 +1,27 @@
+package carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "telegram_update_state")
+public class TelegramUpdateState {
+    public static final String UPDATES = "updates";
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastUpdateId;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+}
@@ -1,39 +1,58 @@
 package carsharingapp.notification;
 
+import carsharingapp.dto.rental.RentalNotificationDto;
+import carsharingapp.dto.rental.UserRentalDigestDto;
 import carsharingapp.exception.NotificationException;
-import carsharingapp.model.Rental;
 import carsharingapp.repository.RentalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class NonAndOverdueRentalTelegramNotificationService {
+    private static final String NON_OVERDUE_JOB = "non-overdue-rental-digests";
+    private static final String OVERDUE_JOB = "overdue-rentals";
+
     private final RentalRepository rentalRepository;
     private final NotificationService notificationService;
+    private final NotificationSweeper notificationSweeper;
+    private final MeterRegistry meterRegistry;
 
     @Scheduled(cron = "0 0 9 * * *")
     public void notifyNonOverdueRentals() throws NotificationException {
-        List<Rental> nonOverdueRentals = rentalRepository
-                .findByReturnDateAfterOrActualReturnDateIsNotNull(LocalDate.now());
-        if (!nonOverdueRentals.isEmpty()) {
-            for (Rental rental : nonOverdueRentals) {
-                notificationService.sendNoOverdueRentalsNotification(rental);
-            }
-        }
+        LocalDate today = LocalDate.now();
+        meterRegistry.timer("notification.job", "job", NON_OVERDUE_JOB).record(() ->
+                notificationSweeper.sweep(NON_OVERDUE_JOB, today,
+                        (lastUserId, limit) -> rentalRepository.findNonOverdueRentalDigestsAfter(
+                                today, lastUserId, limit),
+                        UserRentalDigestDto::getUserId,
+                        notificationService::sendNoOverdueRentalsDigests));
     }
 
     @Scheduled(cron = "0 30 12 * * *")
     public void notifyOverdueRentals() throws NotificationException {
-        List<Rental> overdueRentals = rentalRepository
-                .findByReturnDateBeforeAndActualReturnDateIsNull(LocalDate.now());
-        if (!overdueRentals.isEmpty()) {
-            for (Rental rental : overdueRentals) {
-                notificationService.sendOverdueNotification(rental);
-            }
+        LocalDate today = LocalDate.now();
+        meterRegistry.timer("notification.job", "job", OVERDUE_JOB).record(() ->
+                notificationSweeper.sweep(OVERDUE_JOB, today,
+                        (lastId, limit) -> rentalRepository.findOverdueRentalsAfter(
+                                today, lastId, limit),
+                        RentalNotificationDto::getRentalId,
+                        notificationService::sendOverdueNotifications));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedSweeps() {
+        LocalDate today = LocalDate.now();
+        if (notificationSweeper.isInterrupted(NON_OVERDUE_JOB, today)) {
+            notifyNonOverdueRentals();
+        }
+        if (notificationSweeper.isInterrupted(OVERDUE_JOB, today)) {
+            notifyOverdueRentals();
         }
     }
 }
@@ -1,8 +1,11 @@
 package carsharingapp.notification;
 
+import carsharingapp.dto.rental.RentalNotificationDto;
+import carsharingapp.dto.rental.UserRentalDigestDto;
 import carsharingapp.exception.NotificationException;
 import carsharingapp.model.Payment;
 import carsharingapp.model.Rental;
+import java.util.List;
 
 public interface NotificationService {
     void sendNotification(Long userId, String message) throws NotificationException;
@@ -11,10 +14,18 @@ public interface NotificationService {
 
     void sendRentalReturnNotification(Rental rental) throws NotificationException;
 
+    void sendRentalActivationFailedNotification(Rental rental) throws NotificationException;
+
+    void sendRentalReturnNotifications(List<Rental> rentals);
+
     void sendOverdueNotification(Rental rental) throws NotificationException;
 
     void sendNoOverdueRentalsNotification(Rental rental) throws NotificationException;
 
+    void sendOverdueNotifications(List<RentalNotificationDto> rentals);
+
+    void sendNoOverdueRentalsDigests(List<UserRentalDigestDto> digests);
+
     void sendPaymentSuccessNotification(Payment payment) throws NotificationException;
 
     void sendPaymentCancelNotification(Payment payment) throws NotificationException;
@@ -0,0 +1,114 @@
+package carsharingapp.notification;
+
+import carsharingapp.model.SweepCheckpoint;
+import carsharingapp.repository.SweepCheckpointRepository;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationSweeper {
+    private final SweepCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.sweep.chunk-size}")
+    private int chunkSize;
+    @Value("${notification.sweep.parallelism}")
+    private int parallelism;
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    public <T> void sweep(String jobName,
+                          LocalDate runDate,
+                          BiFunction<Long, Limit, List<T>> chunkLoader,
+                          Function<T, Long> keyExtractor,
+                          Consumer<List<T>> chunkHandler) {
+        SweepCheckpoint checkpoint = checkpointRepository.findById(jobName)
+                .filter(existing -> existing.getRunDate().equals(runDate))
+                .orElseGet(() -> createCheckpoint(jobName, runDate));
+        if (checkpoint.isCompleted()) {
+            return;
+        }
+        Deque<Future<Long>> inFlight = new ArrayDeque<>();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name(jobName + "-", 0).factory()
+                : Thread.ofPlatform().name(jobName + "-", 0).factory();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            long lastKey = checkpoint.getLastProcessedId();
+            List<T> chunk;
+            do {
+                chunk = chunkLoader.apply(lastKey, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                List<T> submitted = chunk;
+                long chunkEnd = keyExtractor.apply(chunk.get(chunk.size() - 1));
+                inFlight.add(executor.submit(() -> {
+                    transactionTemplate.execute(status -> {
+                        chunkHandler.accept(submitted);
+                        return null;
+                    });
+                    return chunkEnd;
+                }));
+                lastKey = chunkEnd;
+                if (inFlight.size() >= parallelism) {
+                    advance(checkpoint, inFlight.poll().get());
+                }
+            } while (chunk.size() == chunkSize);
+            while (!inFlight.isEmpty()) {
+                advance(checkpoint, inFlight.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            log.error("Sweep {} stopped after id {}", jobName,
+                    checkpoint.getLastProcessedId(), e.getCause());
+            return;
+        }
+        checkpoint.setCompleted(true);
+        checkpointRepository.save(checkpoint);
+    }
+
+    public boolean isInterrupted(String jobName, LocalDate runDate) {
+        return checkpointRepository.findById(jobName)
+                .filter(checkpoint -> checkpoint.getRunDate().equals(runDate))
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .isPresent();
+    }
+
+    private SweepCheckpoint createCheckpoint(String jobName, LocalDate runDate) {
+        SweepCheckpoint checkpoint = new SweepCheckpoint();
+        checkpoint.setJobName(jobName);
+        checkpoint.setRunDate(runDate);
+        checkpoint.setLastProcessedId(0L);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Chunks are polled in key order, so the checkpoint only covers chunks that have all
+     * committed, without a chunk transaction waiting on its predecessor.
+     */
+    private void advance(SweepCheckpoint checkpoint, long chunkEnd) {
+        transactionTemplate.execute(status -> checkpointRepository
+                .updateLastProcessedId(checkpoint.getJobName(), chunkEnd));
+        checkpoint.setLastProcessedId(chunkEnd);
+    }
+}
@@ -0,0 +1,45 @@
+package carsharingapp.notification;
+
+import carsharingapp.repository.UserRepository;
+import carsharingapp.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TelegramChatIdCache {
+    private final Cache<Long, Optional<String>> chatIds;
+    private final UserRepository userRepository;
+
+    public TelegramChatIdCache(UserRepository userRepository,
+                               @Value("${telegram.chat-id-cache.max-size}") long maxSize,
+                               @Value("${telegram.chat-id-cache.ttl}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.chatIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, chatIds, "telegram.chat-ids");
+    }
+
+    public Optional<String> get(Long userId) {
+        Optional<String> cached = chatIds.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<String> loaded = userRepository.findTgChatIdById(userId);
+        Optional<String> raced = chatIds.asMap().putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    public void put(Long userId, String chatId) {
+        TransactionUtil.afterCommit(() -> chatIds.put(userId, Optional.ofNullable(chatId)));
+    }
+}
@@ -0,0 +1,50 @@
+package carsharingapp.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@RequiredArgsConstructor
+public class TelegramClient {
+    public static final String ALLOWED_UPDATES = "[\"message\"]";
+    public static final int MAX_MESSAGE_LENGTH = 4096;
+
+    private static final String SEND_MESSAGE_PATH = "{token}/sendMessage";
+    private static final String SET_WEBHOOK_PATH =
+            "{token}/setWebhook?url={url}&secret_token={secretToken}&allowed_updates={updates}";
+    private static final String DELETE_WEBHOOK_PATH = "{token}/deleteWebhook";
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    @Value("${telegram.api.url}")
+    private String telegramApiUrl;
+    @Value("${telegram.bot.token}")
+    private String botToken;
+
+    public void sendMessage(String chatId, String text) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            restTemplate.postForObject(telegramApiUrl + SEND_MESSAGE_PATH,
+                    Map.of("chat_id", chatId, "text", text), String.class, botToken);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("telegram.send", "outcome", outcome));
+        }
+    }
+
+    public void setWebhook(String url, String secretToken) {
+        restTemplate.postForObject(telegramApiUrl + SET_WEBHOOK_PATH, null, String.class,
+                botToken, url, secretToken, ALLOWED_UPDATES);
+    }
+
+    public void deleteWebhook() {
+        restTemplate.postForObject(telegramApiUrl + DELETE_WEBHOOK_PATH, null, String.class,
+                botToken);
+    }
+}
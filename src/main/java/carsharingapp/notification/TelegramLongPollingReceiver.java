@@ -0,0 +1,131 @@
+package carsharingapp.notification;
+
+import carsharingapp.dto.telegram.TelegramUpdatesResponseDto;
+import carsharingapp.model.TelegramUpdateState;
+import carsharingapp.repository.TelegramUpdateStateRepository;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "telegram.updates.mode", havingValue = "long-polling")
+public class TelegramLongPollingReceiver {
+    private static final String GET_UPDATES_PATH =
+            "{token}/getUpdates?offset={offset}&timeout={timeout}&allowed_updates={updates}";
+
+    private final RestTemplate restTemplate;
+    private final TelegramClient telegramClient;
+    private final TelegramUpdateHandler updateHandler;
+    private final TelegramUpdateStateRepository stateRepository;
+    private final Duration pollTimeout;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private boolean webhookDeleted;
+    private Thread worker;
+
+    @Value("${telegram.api.url}")
+    private String telegramApiUrl;
+    @Value("${telegram.bot.token}")
+    private String botToken;
+    @Value("${telegram.updates.retry-interval}")
+    private Duration retryInterval;
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    public TelegramLongPollingReceiver(
+            RestTemplateBuilder restTemplateBuilder,
+            HttpClient outboundHttpClient,
+            TelegramClient telegramClient,
+            TelegramUpdateHandler updateHandler,
+            TelegramUpdateStateRepository stateRepository,
+            @Value("${telegram.updates.poll-timeout}") Duration pollTimeout,
+            @Value("${http.client.read-timeout}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(pollTimeout.plus(readTimeout));
+        this.restTemplate = restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
+        this.telegramClient = telegramClient;
+        this.updateHandler = updateHandler;
+        this.stateRepository = stateRepository;
+        this.pollTimeout = pollTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        Thread.Builder threadBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        worker = threadBuilder.name("telegram-long-polling").start(this::pollLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            stateRepository.releaseLease(TelegramUpdateState.UPDATES, nodeId);
+        }
+    }
+
+    public boolean pollOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(pollTimeout.multipliedBy(2));
+        if (stateRepository.acquireLease(TelegramUpdateState.UPDATES, nodeId,
+                now, leaseUntil) == 0) {
+            return false;
+        }
+        if (!webhookDeleted) {
+            telegramClient.deleteWebhook();
+            webhookDeleted = true;
+        }
+        TelegramUpdatesResponseDto response = restTemplate.getForObject(
+                telegramApiUrl + GET_UPDATES_PATH, TelegramUpdatesResponseDto.class,
+                botToken, updateHandler.getNextOffset(), pollTimeout.toSeconds(),
+                TelegramClient.ALLOWED_UPDATES);
+        if (response != null) {
+            response.getResult().forEach(updateHandler::handle);
+        }
+        return true;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                if (!pollOnce()) {
+                    Thread.sleep(retryInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Telegram long polling failed: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(retryInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
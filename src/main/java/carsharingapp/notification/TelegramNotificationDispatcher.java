@@ -0,0 +1,179 @@
+package carsharingapp.notification;
+
+import carsharingapp.model.Notification;
+import carsharingapp.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelegramNotificationDispatcher {
+    private static final String MESSAGE_SEPARATOR = "\n\n";
+
+    private final NotificationRepository notificationRepository;
+    private final TelegramClient telegramClient;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private Cache<String, Instant> lastSentAt;
+    private ExecutorService workers;
+
+    @Value("${telegram.dispatcher.workers}")
+    private int workerCount;
+    @Value("${telegram.dispatcher.batch-size}")
+    private int batchSize;
+    @Value("${telegram.dispatcher.max-attempts}")
+    private int maxAttempts;
+    @Value("${telegram.dispatcher.retry-backoff}")
+    private Duration retryBackoff;
+    @Value("${telegram.dispatcher.chat-interval}")
+    private Duration chatInterval;
+    @Value("${telegram.dispatcher.claim-timeout}")
+    private Duration claimTimeout;
+    @Value("${telegram.dispatcher.retention}")
+    private Duration retention;
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void init() {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("telegram-dispatcher-", 0).factory()
+                : Thread.ofPlatform().name("telegram-dispatcher-", 0).factory();
+        workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        lastSentAt = Caffeine.newBuilder()
+                .expireAfterWrite(chatInterval)
+                .build();
+        Gauge.builder("telegram.queue.depth", notificationRepository,
+                        repository -> repository.countByStatus(Notification.Status.PENDING))
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${telegram.dispatcher.interval}")
+    public void dispatch() {
+        Map<String, List<Notification>> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        List<Future<?>> deliveries = new ArrayList<>();
+        claimed.forEach((chatId, batch) ->
+                deliveries.add(workers.submit(() -> deliver(chatId, batch))));
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Telegram delivery failed", e.getCause());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${telegram.dispatcher.purge-interval}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> notificationRepository
+                    .deleteOldest(Notification.Status.SENT.name(), before, batchSize));
+        } while (deleted == batchSize);
+    }
+
+    private Map<String, List<Notification>> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> due = notificationRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        Notification.Status.PENDING, now, Limit.of(batchSize));
+        Map<String, List<Notification>> byChat = new LinkedHashMap<>();
+        for (Notification notification : due) {
+            byChat.computeIfAbsent(notification.getChatId(), chatId -> new ArrayList<>())
+                    .add(notification);
+        }
+        Instant nowInstant = Instant.now();
+        Map<String, List<Notification>> claimed = new LinkedHashMap<>();
+        byChat.forEach((chatId, notifications) -> {
+            Instant previous = lastSentAt.getIfPresent(chatId);
+            if (previous == null || !previous.plus(chatInterval).isAfter(nowInstant)) {
+                List<Notification> batch = fitInMessage(notifications);
+                batch.forEach(notification -> notification.setNextAttemptAt(
+                        now.plus(claimTimeout)));
+                claimed.put(chatId, batch);
+            }
+        });
+        return claimed;
+    }
+
+    private List<Notification> fitInMessage(List<Notification> notifications) {
+        List<Notification> batch = new ArrayList<>();
+        int length = 0;
+        for (Notification notification : notifications) {
+            int separatorLength = batch.isEmpty() ? 0 : MESSAGE_SEPARATOR.length();
+            if (!batch.isEmpty() && length + separatorLength
+                    + notification.getMessage().length() > TelegramClient.MAX_MESSAGE_LENGTH) {
+                break;
+            }
+            length += separatorLength + notification.getMessage().length();
+            batch.add(notification);
+        }
+        return batch;
+    }
+
+    private void deliver(String chatId, List<Notification> batch) {
+        String text = String.join(MESSAGE_SEPARATOR, batch.stream()
+                .map(Notification::getMessage)
+                .toList());
+        lastSentAt.put(chatId, Instant.now());
+        try {
+            telegramClient.sendMessage(chatId, text);
+            batch.forEach(notification -> notification.setStatus(Notification.Status.SENT));
+        } catch (HttpClientErrorException.BadRequest e) {
+            log.error("Telegram rejected message to chat {}: {}", chatId, e.getMessage());
+            batch.forEach(notification -> notification.setStatus(Notification.Status.FAILED));
+        } catch (Exception e) {
+            log.warn("Failed to send Telegram message to chat {}: {}", chatId, e.getMessage());
+            batch.forEach(this::scheduleRetry);
+        }
+        transactionTemplate.execute(status -> notificationRepository.saveAll(batch));
+    }
+
+    private void scheduleRetry(Notification notification) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            notification.setStatus(Notification.Status.FAILED);
+            return;
+        }
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        notification.setNextAttemptAt(LocalDateTime.now().plus(delay));
+    }
+}
@@ -1,42 +1,43 @@
 package carsharingapp.notification;
 
-import carsharingapp.exception.EntityNotFoundException;
+import carsharingapp.dto.rental.RentalNotificationDto;
+import carsharingapp.dto.rental.UserRentalDigestDto;
 import carsharingapp.exception.NotificationException;
+import carsharingapp.model.Notification;
 import carsharingapp.model.Payment;
 import carsharingapp.model.Rental;
 import carsharingapp.model.User;
+import carsharingapp.repository.NotificationRepository;
 import carsharingapp.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TelegramNotificationService implements NotificationService {
-    private static final String TELEGRAM_API_URL = "https://api.telegram.org/bot";
+    private static final String NO_OVERDUE_RENTALS_MESSAGE = "✅ No rentals overdue today!";
 
-    private final RestTemplate restTemplate;
     private final UserRepository userRepository;
-    @Value("${telegram.bot.token}")
-    private String botToken;
+    private final NotificationRepository notificationRepository;
+    private final TelegramChatIdCache telegramChatIdCache;
 
     @Override
     public void sendNotification(Long id, String message) throws NotificationException {
-        User user = userRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("User not found by id: " + id));
-        String telegramChatId = user.getTgChatId();
-        if (telegramChatId == null) {
-            throw new NotificationException("Telegram Chat ID not set for user with ID: "
-                    + user.getId());
-        }
-        String url = String.format("%s%s/sendMessage?chat_id=%s&text=%s",
-                TELEGRAM_API_URL, botToken, telegramChatId, message);
-        try {
-            restTemplate.getForObject(url, String.class);
-        } catch (Exception e) {
-            throw new NotificationException("Failed to send notification: " + e.getMessage());
+        Optional<String> telegramChatId = telegramChatIdCache.get(id);
+        if (telegramChatId.isEmpty()) {
+            log.debug("Telegram Chat ID not set for user with ID: {}", id);
+            return;
         }
+        notificationRepository.saveAll(createNotifications(id, telegramChatId.get(), message));
     }
 
     @Override
@@ -54,37 +55,59 @@ public class TelegramNotificationService implements NotificationService {
 
     @Override
     public void sendRentalReturnNotification(Rental rental) throws NotificationException {
+        sendNotification(rental.getUser().getId(), formatReturnMessage(rental));
+    }
+
+    @Override
+    public void sendRentalActivationFailedNotification(Rental rental)
+            throws NotificationException {
         String message = String.format(
-                "🚗 Rental Returned:\n\n"
-                        + "User: %s\nCar: %s %s\nStart Date: %s\nEnd Date: %s\nReturn Date: %s",
+                "🚨 Rental Could Not Start!\n\n"
+                        + "User: %s\nCar: %s %s\nStart Date: %s\nEnd Date: %s\n"
+                        + "No unit of this car is available, please book another one.",
                 rental.getUser().getFirstName(),
                 rental.getCar().getBrand(), rental.getCar().getModel(),
                 rental.getRentalDate(),
-                rental.getReturnDate(),
-                rental.getActualReturnDate()
+                rental.getReturnDate()
         );
         sendNotification(rental.getUser().getId(), message);
     }
 
+    @Override
+    public void sendRentalReturnNotifications(List<Rental> rentals) {
+        enqueue(rentals.stream()
+                .collect(Collectors.groupingBy(rental -> rental.getUser().getId(),
+                        Collectors.mapping(this::formatReturnMessage, Collectors.toList()))));
+    }
+
     @Override
     public void sendOverdueNotification(Rental rental) throws NotificationException {
-        String message = String.format(
-                "🚨 Overdue Rental Alert!\n\n"
-                        + "User: %s\nCar: %s %s\nOriginal Return Date: %s\nRental Date: %s\n"
-                        + "Please return the car.",
-                rental.getUser().getFirstName(),
+        String message = formatOverdueMessage(rental.getUser().getFirstName(),
                 rental.getCar().getBrand(), rental.getCar().getModel(),
-                rental.getReturnDate(),
-                rental.getRentalDate()
-        );
-
+                rental.getReturnDate(), rental.getRentalDate());
         sendNotification(rental.getUser().getId(), message);
     }
 
     @Override
     public void sendNoOverdueRentalsNotification(Rental rental) throws NotificationException {
-        String message = "✅ No rentals overdue today!";
-        sendNotification(rental.getUser().getId(), message);
+        sendNotification(rental.getUser().getId(), NO_OVERDUE_RENTALS_MESSAGE);
+    }
+
+    @Override
+    public void sendOverdueNotifications(List<RentalNotificationDto> rentals) {
+        enqueue(rentals.stream()
+                .collect(Collectors.groupingBy(RentalNotificationDto::getUserId,
+                        Collectors.mapping(rental -> formatOverdueMessage(
+                                rental.getUserFirstName(), rental.getCarBrand(),
+                                rental.getCarModel(), rental.getReturnDate(),
+                                rental.getRentalDate()), Collectors.toList()))));
+    }
+
+    @Override
+    public void sendNoOverdueRentalsDigests(List<UserRentalDigestDto> digests) {
+        enqueue(digests.stream()
+                .collect(Collectors.toMap(UserRentalDigestDto::getUserId,
+                        digest -> List.of(formatDigestMessage(digest)))));
     }
 
     @Override
@@ -98,4 +121,87 @@ public class TelegramNotificationService implements NotificationService {
         String message = "🚨 Payment was cancelled!";
         sendNotification(payment.getRental().getUser().getId(), message);
     }
+
+    private void enqueue(Map<Long, List<String>> messagesByUserId) {
+        List<Notification> notifications = new ArrayList<>();
+        for (User user : userRepository.findAllById(messagesByUserId.keySet())) {
+            if (user.getTgChatId() == null) {
+                log.debug("Telegram Chat ID not set for user with ID: {}", user.getId());
+                continue;
+            }
+            for (String message : messagesByUserId.get(user.getId())) {
+                notifications.addAll(createNotifications(user.getId(), user.getTgChatId(),
+                        message));
+            }
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
+    private List<Notification> createNotifications(Long userId, String chatId, String message) {
+        List<Notification> notifications = new ArrayList<>();
+        for (String part : splitMessage(message)) {
+            notifications.add(createNotification(userId, chatId, part));
+        }
+        return notifications;
+    }
+
+    private Notification createNotification(Long userId, String chatId, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setChatId(chatId);
+        notification.setMessage(message);
+        notification.setStatus(Notification.Status.PENDING);
+        notification.setNextAttemptAt(now);
+        notification.setCreatedAt(now);
+        return notification;
+    }
+
+    List<String> splitMessage(String message) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (message.length() - start > TelegramClient.MAX_MESSAGE_LENGTH) {
+            int end = start + TelegramClient.MAX_MESSAGE_LENGTH;
+            int lineBreak = message.lastIndexOf('\n', end - 1);
+            if (lineBreak > start) {
+                end = lineBreak + 1;
+            } else if (Character.isHighSurrogate(message.charAt(end - 1))) {
+                end--;
+            }
+            parts.add(message.substring(start, end));
+            start = end;
+        }
+        parts.add(message.substring(start));
+        return parts;
+    }
+
+    String formatDigestMessage(UserRentalDigestDto digest) {
+        if (digest.getActiveRentals() == 0) {
+            return NO_OVERDUE_RENTALS_MESSAGE;
+        }
+        return String.format("%s\n\nHi, %s! Active rentals: %d",
+                NO_OVERDUE_RENTALS_MESSAGE, digest.getUserFirstName(), digest.getActiveRentals());
+    }
+
+    String formatReturnMessage(Rental rental) {
+        return String.format(
+                "🚗 Rental Returned:\n\n"
+                        + "User: %s\nCar: %s %s\nStart Date: %s\nEnd Date: %s\nReturn Date: %s",
+                rental.getUser().getFirstName(),
+                rental.getCar().getBrand(), rental.getCar().getModel(),
+                rental.getRentalDate(),
+                rental.getReturnDate(),
+                rental.getActualReturnDate()
+        );
+    }
+
+    String formatOverdueMessage(String firstName, String brand, String model,
+                                LocalDate returnDate, LocalDate rentalDate) {
+        return String.format(
+                "🚨 Overdue Rental Alert!\n\n"
+                        + "User: %s\nCar: %s %s\nOriginal Return Date: %s\nRental Date: %s\n"
+                        + "Please return the car.",
+                firstName, brand, model, returnDate, rentalDate
+        );
+    }
 }
@@ -0,0 +1,46 @@
+package carsharingapp.notification;
+
+import carsharingapp.dto.telegram.TelegramMessageDto;
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.model.TelegramUpdateState;
+import carsharingapp.repository.TelegramUpdateStateRepository;
+import carsharingapp.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TelegramUpdateHandler {
+    private static final String START_COMMAND = "/start";
+
+    private final TelegramUpdateStateRepository stateRepository;
+    private final GreetingTelegramNotificationService greetingService;
+    private final UserService userService;
+
+    public long getNextOffset() {
+        return stateRepository.findById(TelegramUpdateState.UPDATES)
+                .map(TelegramUpdateState::getLastUpdateId)
+                .orElse(0L) + 1;
+    }
+
+    public void handle(TelegramUpdateDto update) {
+        if (stateRepository.advanceOffset(TelegramUpdateState.UPDATES,
+                update.getUpdateId()) == 0) {
+            return;
+        }
+        TelegramMessageDto message = update.getMessage();
+        if (message == null || message.getText() == null || message.getChat() == null) {
+            return;
+        }
+        String[] parts = message.getText().strip().split("\\s+", 2);
+        if (!START_COMMAND.equalsIgnoreCase(parts[0])) {
+            return;
+        }
+        String chatId = String.valueOf(message.getChat().getId());
+        if (parts.length > 1 && userService.linkTelegramChat(parts[1], chatId)) {
+            greetingService.sendAccountLinkedMessage(chatId);
+            return;
+        }
+        greetingService.sendGreetingMessage(chatId);
+    }
+}
@@ -0,0 +1,48 @@
+package carsharingapp.notification;
+
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.exception.WebhookSignatureException;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "telegram.updates.mode", havingValue = "webhook")
+public class TelegramWebhookReceiver {
+    private final TelegramClient telegramClient;
+    private final TelegramUpdateHandler updateHandler;
+
+    @Value("${telegram.webhook.url}")
+    private String webhookUrl;
+    @Value("${telegram.webhook.secret}")
+    private String webhookSecret;
+
+    @PostConstruct
+    void validate() {
+        if (webhookSecret == null || webhookSecret.isBlank()) {
+            throw new IllegalStateException(
+                    "telegram.webhook.secret must be set when telegram.updates.mode=webhook");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        telegramClient.setWebhook(webhookUrl, webhookSecret);
+    }
+
+    public void receive(TelegramUpdateDto update, String secretToken) {
+        if (secretToken == null || !MessageDigest.isEqual(
+                secretToken.getBytes(StandardCharsets.UTF_8),
+                webhookSecret.getBytes(StandardCharsets.UTF_8))) {
+            throw new WebhookSignatureException("Invalid Telegram webhook secret token");
+        }
+        updateHandler.handle(update);
+    }
+}
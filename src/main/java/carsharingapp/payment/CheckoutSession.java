@@ -0,0 +1,4 @@
+package carsharingapp.payment;
+
+public record CheckoutSession(String id, String url) {
+}
@@ -0,0 +1,88 @@
+package carsharingapp.payment;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpContent;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+import com.stripe.net.StripeResponseStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class JdkStripeHttpClient extends HttpClient {
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "content-type", "expect", "host", "upgrade");
+
+    private final java.net.http.HttpClient httpClient;
+
+    public JdkStripeHttpClient(java.net.http.HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws ApiConnectionException {
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        return new StripeResponse(response.statusCode(),
+                HttpHeaders.of(response.headers().map()), response.body());
+    }
+
+    @Override
+    public StripeResponseStream requestStream(StripeRequest request)
+            throws ApiConnectionException {
+        HttpResponse<InputStream> response =
+                send(request, HttpResponse.BodyHandlers.ofInputStream());
+        return new StripeResponseStream(response.statusCode(),
+                HttpHeaders.of(response.headers().map()), response.body());
+    }
+
+    private <T> HttpResponse<T> send(StripeRequest request,
+                                     HttpResponse.BodyHandler<T> bodyHandler)
+            throws ApiConnectionException {
+        try {
+            return httpClient.send(toHttpRequest(request), bodyHandler);
+        } catch (IOException | URISyntaxException e) {
+            throw new ApiConnectionException(String.format(
+                    "IOException during API request to Stripe (%s): %s",
+                    request.url(), e.getMessage()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Interrupted during API request to Stripe", e);
+        }
+    }
+
+    private HttpRequest toHttpRequest(StripeRequest request) throws URISyntaxException {
+        HttpContent content = request.content();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.url().toURI())
+                .method(request.method().name(), content == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(content.byteArrayContent()));
+        Integer readTimeout = request.options().getReadTimeout();
+        if (readTimeout != null && readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+        Map<String, List<String>> headers = request.headers()
+                .withAdditionalHeaders(Map.of(
+                        "User-Agent", List.of(buildUserAgentString()),
+                        "X-Stripe-Client-User-Agent",
+                        List.of(buildXStripeClientUserAgentString())))
+                .map();
+        headers.forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (content != null) {
+            builder.header("Content-Type", content.contentType());
+        }
+        return builder.build();
+    }
+}
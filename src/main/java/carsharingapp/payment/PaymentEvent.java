@@ -0,0 +1,4 @@
+package carsharingapp.payment;
+
+public record PaymentEvent(String id, String type, String sessionId, boolean paid) {
+}
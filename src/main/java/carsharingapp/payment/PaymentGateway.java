@@ -0,0 +1,15 @@
+package carsharingapp.payment;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public interface PaymentGateway {
+    CheckoutSession createCheckoutSession(BigDecimal amount, String idempotencyKey);
+
+    boolean isSessionPaid(String sessionId);
+
+    List<String> findPaidSessionIds(Instant createdAfter);
+
+    PaymentEvent parseWebhookEvent(String payload, String signature);
+}
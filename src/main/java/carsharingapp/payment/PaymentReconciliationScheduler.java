@@ -0,0 +1,20 @@
+package carsharingapp.payment;
+
+import carsharingapp.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stripe.reconciliation.enabled", havingValue = "true")
+public class PaymentReconciliationScheduler {
+    private final PaymentWebhookService paymentWebhookService;
+
+    @Scheduled(initialDelayString = "${stripe.reconciliation.initial-delay}",
+            fixedDelayString = "${stripe.reconciliation.interval}")
+    public void reconcile() {
+        paymentWebhookService.reconcile();
+    }
+}
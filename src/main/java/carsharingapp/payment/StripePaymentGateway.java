@@ -0,0 +1,238 @@
+package carsharingapp.payment;
+
+import carsharingapp.exception.PaymentException;
+import carsharingapp.exception.WebhookSignatureException;
+import carsharingapp.util.CircuitBreaker;
+import com.stripe.StripeClient;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.Webhook;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StripePaymentGateway implements PaymentGateway {
+    private static final String CURRENCY = "usd";
+    private static final String PRODUCT_NAME = "Car Rental Payment";
+    private static final String PAID = "paid";
+    private static final long LIST_PAGE_SIZE = 100;
+    private static final int CONFLICT_STATUS = 409;
+
+    private final StripeClient stripeClient;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${stripe.secret.key}")
+    private String secretKey;
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+    @Value("${stripe.api.base}")
+    private String apiBase;
+    @Value("${stripe.read-timeout}")
+    private Duration readTimeout;
+    @Value("${stripe.max-network-retries}")
+    private int maxNetworkRetries;
+    @Value("${stripe.idempotency-conflict.max-attempts}")
+    private int conflictMaxAttempts;
+    @Value("${stripe.idempotency-conflict.backoff}")
+    private Duration conflictBackoff;
+    @Value("${payment.success.url}")
+    private String successUrl;
+    @Value("${payment.cancel.url}")
+    private String cancelUrl;
+
+    public StripePaymentGateway(
+            StripeClient stripeClient,
+            @Value("${stripe.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${stripe.circuit-breaker.open-duration}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        this.stripeClient = stripeClient;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CheckoutSession createCheckoutSession(BigDecimal amount, String idempotencyKey) {
+        Session session = call("create_session", () -> createSession(amount, idempotencyKey));
+        return new CheckoutSession(session.getId(), session.getUrl());
+    }
+
+    @Override
+    public boolean isSessionPaid(String sessionId) {
+        Session session = call("retrieve_session", () -> stripeClient.checkout().sessions()
+                .retrieve(sessionId, requestOptions(null)));
+        return PAID.equals(session.getPaymentStatus());
+    }
+
+    @Override
+    public List<String> findPaidSessionIds(Instant createdAfter) {
+        SessionListParams params = SessionListParams.builder()
+                .setCreated(SessionListParams.Created.builder()
+                        .setGte(createdAfter.getEpochSecond())
+                        .build())
+                .setStatus(SessionListParams.Status.COMPLETE)
+                .setLimit(LIST_PAGE_SIZE)
+                .build();
+        return call("list_sessions", () -> {
+            List<String> sessionIds = new ArrayList<>();
+            for (Session session : stripeClient.checkout().sessions()
+                    .list(params, requestOptions(null))
+                    .autoPagingIterable()) {
+                if (PAID.equals(session.getPaymentStatus())) {
+                    sessionIds.add(session.getId());
+                }
+            }
+            return sessionIds;
+        });
+    }
+
+    @Override
+    public PaymentEvent parseWebhookEvent(String payload, String signature) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new WebhookSignatureException("Invalid Stripe webhook signature", e);
+        }
+        if (!(deserialize(event) instanceof Session session)) {
+            return new PaymentEvent(event.getId(), event.getType(), null, false);
+        }
+        return new PaymentEvent(event.getId(), event.getType(), session.getId(),
+                PAID.equals(session.getPaymentStatus()));
+    }
+
+    private <T> T call(String operation, StripeCall<T> stripeCall) {
+        if (!circuitBreaker.allowRequest()) {
+            meterRegistry.counter("stripe.requests.rejected", "operation", operation).increment();
+            throw new PaymentException("Payment provider is temporarily unavailable");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = stripeCall.execute();
+            circuitBreaker.recordSuccess();
+            return result;
+        } catch (StripeException e) {
+            if (isProviderFailure(e)) {
+                outcome = "provider_error";
+                circuitBreaker.recordFailure();
+            } else {
+                outcome = "client_error";
+                circuitBreaker.recordSuccess();
+            }
+            log.warn("Stripe request failed: {}", e.getMessage());
+            throw new PaymentException("Can`t complete Stripe request", e);
+        } catch (RuntimeException e) {
+            outcome = "provider_error";
+            circuitBreaker.recordFailure();
+            log.warn("Stripe request failed: {}", e.getMessage());
+            throw new PaymentException("Can`t complete Stripe request", e);
+        } finally {
+            sample.stop(meterRegistry.timer("stripe.requests",
+                    "operation", operation, "outcome", outcome));
+        }
+    }
+
+    /**
+     * Stripe answers 409 while another request with the same idempotency key is in flight
+     * (the SDK raises it as an ApiException, not an IdempotencyException). Once that request
+     * finishes, a retry replays its response, so both callers get the same session.
+     */
+    private Session createSession(BigDecimal amount, String idempotencyKey)
+            throws StripeException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return stripeClient.checkout().sessions()
+                        .create(createSessionParams(amount), requestOptions(idempotencyKey));
+            } catch (StripeException e) {
+                if (!Integer.valueOf(CONFLICT_STATUS).equals(e.getStatusCode())
+                        || attempt >= conflictMaxAttempts) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(conflictBackoff.multipliedBy(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Object deserialize(Event event) {
+        try {
+            return event.getDataObjectDeserializer().deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            throw new PaymentException("Can`t read Stripe event " + event.getId(), e);
+        }
+    }
+
+    private boolean isProviderFailure(StripeException e) {
+        return e instanceof ApiConnectionException
+                || (e.getStatusCode() != null && e.getStatusCode() >= 500);
+    }
+
+    private RequestOptions requestOptions(String idempotencyKey) {
+        return RequestOptions.builder()
+                .setApiKey(secretKey)
+                .setBaseUrl(apiBase)
+                .setIdempotencyKey(idempotencyKey)
+                .setReadTimeout((int) readTimeout.toMillis())
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    private SessionCreateParams createSessionParams(BigDecimal amount) {
+        return SessionCreateParams.builder()
+                .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl(successUrl)
+                .setCancelUrl(cancelUrl)
+                .addLineItem(
+                        SessionCreateParams.LineItem.builder()
+                                .setQuantity(1L)
+                                .setPriceData(
+                                        SessionCreateParams.LineItem.PriceData.builder()
+                                                .setCurrency(CURRENCY)
+                                                .setUnitAmount(toCents(amount))
+                                                .setProductData(
+                                                        SessionCreateParams
+                                                                .LineItem
+                                                                .PriceData
+                                                                .ProductData
+                                                                .builder()
+                                                                .setName(PRODUCT_NAME)
+                                                                .build()
+                                                )
+                                                .build()
+                                )
+                                .build()
+                )
+                .build();
+    }
+
+    private long toCents(BigDecimal amount) {
+        return amount.multiply(BigDecimal.valueOf(100)).longValue();
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+}
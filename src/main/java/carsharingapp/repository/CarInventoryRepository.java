@@ -0,0 +1,13 @@
+package carsharingapp.repository;
+
+import java.util.Map;
+
+public interface CarInventoryRepository {
+    int decrementInventory(Long id);
+
+    int incrementInventory(Long id);
+
+    int[] incrementInventory(Map<Long, Integer> unitsById);
+
+    Map<Long, Integer> findAllInventory();
+}
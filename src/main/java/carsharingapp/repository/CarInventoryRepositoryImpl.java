@@ -0,0 +1,67 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Car;
+import carsharingapp.util.TransactionUtil;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@RequiredArgsConstructor
+public class CarInventoryRepositoryImpl implements CarInventoryRepository {
+    private static final String DECREMENT_INVENTORY = "UPDATE cars SET inventory = inventory - 1 "
+            + "WHERE id = ? AND inventory > 0 AND is_deleted = FALSE";
+    private static final String INCREMENT_INVENTORY = "UPDATE cars SET inventory = inventory + 1 "
+            + "WHERE id = ? AND is_deleted = FALSE";
+    private static final String ADD_INVENTORY = "UPDATE cars SET inventory = inventory + ? "
+            + "WHERE id = ? AND is_deleted = FALSE";
+    private static final String SELECT_INVENTORY =
+            "SELECT id, inventory FROM cars WHERE is_deleted = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int decrementInventory(Long id) {
+        return update(DECREMENT_INVENTORY, id);
+    }
+
+    @Override
+    public int incrementInventory(Long id) {
+        return update(INCREMENT_INVENTORY, id);
+    }
+
+    @Override
+    public int[] incrementInventory(Map<Long, Integer> unitsById) {
+        List<Long> ids = List.copyOf(new TreeMap<>(unitsById).keySet());
+        int[] updated = jdbcTemplate.batchUpdate(ADD_INVENTORY, ids.stream()
+                .map(id -> new Object[]{unitsById.get(id), id})
+                .toList());
+        ids.forEach(this::evict);
+        TransactionUtil.afterCommit(() -> ids.forEach(this::evict));
+        return updated;
+    }
+
+    @Override
+    public Map<Long, Integer> findAllInventory() {
+        Map<Long, Integer> inventory = new HashMap<>();
+        jdbcTemplate.query(SELECT_INVENTORY, (RowCallbackHandler) rs ->
+                inventory.put(rs.getLong("id"), rs.getInt("inventory")));
+        return inventory;
+    }
+
+    private int update(String sql, Long id) {
+        int updated = jdbcTemplate.update(sql, id);
+        evict(id);
+        TransactionUtil.afterCommit(() -> evict(id));
+        return updated;
+    }
+
+    private void evict(Long id) {
+        entityManagerFactory.getCache().evict(Car.class, id);
+    }
+}
@@ -1,7 +1,44 @@
 package carsharingapp.repository;
 
 import carsharingapp.model.Car;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>,
+        CarInventoryRepository {
+    String CAPACITY = "c.inventory + (SELECT COUNT(h) FROM Rental h WHERE h.car = c "
+            + "AND h.actualReturnDate IS NULL AND h.inventoryReserved = true)";
+    // The busiest day of [from, to) is either from or the first day of a booking inside it
+    String AVAILABLE_CARS_WHERE = "WHERE " + CAPACITY + " > (SELECT COUNT(b) FROM Rental b "
+            + "WHERE b.car = c AND b.actualReturnDate IS NULL "
+            + "AND b.rentalDate <= :from AND b.returnDate > :from) "
+            + "AND NOT EXISTS (SELECT s FROM Rental s WHERE s.car = c "
+            + "AND s.actualReturnDate IS NULL AND s.rentalDate > :from AND s.rentalDate < :to "
+            + "AND " + CAPACITY + " <= (SELECT COUNT(b) FROM Rental b WHERE b.car = c "
+            + "AND b.actualReturnDate IS NULL "
+            + "AND b.rentalDate <= s.rentalDate AND b.returnDate > s.rentalDate))";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Car> streamAllByOrderByIdAsc();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Car c WHERE c.id = :id")
+    Optional<Car> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = "SELECT c FROM Car c " + AVAILABLE_CARS_WHERE,
+            countQuery = "SELECT COUNT(c) FROM Car c " + AVAILABLE_CARS_WHERE)
+    Page<Car> findAvailable(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                            Pageable pageable);
 }
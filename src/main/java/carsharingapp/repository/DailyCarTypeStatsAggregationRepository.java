@@ -0,0 +1,20 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.DailyCarTypeStats;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface DailyCarTypeStatsAggregationRepository {
+    List<DailyCarTypeStats> incrementAll(Collection<DailyCarTypeStats> deltas);
+
+    void insertAll(Collection<DailyCarTypeStats> rows);
+
+    List<DailyCarTypeStats> aggregateDay(LocalDate day);
+
+    Map<Car.Type, Integer> countFleet();
+
+    void replaceDay(LocalDate day, Collection<DailyCarTypeStats> rows);
+}
@@ -0,0 +1,144 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.DailyCarTypeStats;
+import carsharingapp.model.Payment;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class DailyCarTypeStatsAggregationRepositoryImpl
+        implements DailyCarTypeStatsAggregationRepository {
+    private static final Comparator<DailyCarTypeStats> BY_KEY = Comparator
+            .comparing(DailyCarTypeStats::getStatDate)
+            .thenComparing(DailyCarTypeStats::getCarType);
+    private static final String INCREMENT = "UPDATE daily_car_type_stats SET "
+            + "payment_revenue = payment_revenue + ?, fine_revenue = fine_revenue + ?, "
+            + "rentals_started = rentals_started + ?, rentals_returned = rentals_returned + ? "
+            + "WHERE stat_date = ? AND car_type = ?";
+    private static final String INSERT = "INSERT INTO daily_car_type_stats (stat_date, "
+            + "car_type, payment_revenue, fine_revenue, rentals_started, rentals_returned, "
+            + "rentals_overdue, rented_cars, fleet_size) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_DAY = "DELETE FROM daily_car_type_stats "
+            + "WHERE stat_date = ?";
+    private static final String REVENUE = "SELECT c.type, p.type, SUM(p.amount_to_pay) "
+            + "FROM payments p JOIN rentals r ON r.id = p.id JOIN cars c ON c.id = r.car_id "
+            + "WHERE p.status = 'PAID' AND p.is_deleted = FALSE "
+            + "AND p.paid_at >= ? AND p.paid_at < ? "
+            + "GROUP BY c.type, p.type";
+    private static final String STARTED = "SELECT c.type, COUNT(*) "
+            + "FROM rentals r JOIN cars c ON c.id = r.car_id "
+            + "WHERE r.rental_date = ? AND r.inventory_reserved = TRUE AND r.is_deleted = FALSE "
+            + "GROUP BY c.type";
+    private static final String RETURNED = "SELECT c.type, COUNT(*) "
+            + "FROM rentals r JOIN cars c ON c.id = r.car_id "
+            + "WHERE r.actual_return_date = ? AND r.is_deleted = FALSE "
+            + "GROUP BY c.type";
+    private static final String ON_RENT = "SELECT c.type, COUNT(*), "
+            + "SUM(CASE WHEN r.return_date < ? THEN 1 ELSE 0 END) "
+            + "FROM rentals r JOIN cars c ON c.id = r.car_id "
+            + "WHERE r.rental_date <= ? AND r.is_deleted = FALSE "
+            + "AND (r.actual_return_date IS NULL OR r.actual_return_date > ?) "
+            + "GROUP BY c.type";
+    private static final String AVAILABLE_UNITS = "SELECT type, SUM(inventory) FROM cars "
+            + "WHERE is_deleted = FALSE GROUP BY type";
+    private static final String RESERVED_UNITS = "SELECT c.type, COUNT(*) "
+            + "FROM rentals r JOIN cars c ON c.id = r.car_id "
+            + "WHERE r.actual_return_date IS NULL AND r.inventory_reserved = TRUE "
+            + "AND r.is_deleted = FALSE AND c.is_deleted = FALSE "
+            + "GROUP BY c.type";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<DailyCarTypeStats> incrementAll(Collection<DailyCarTypeStats> deltas) {
+        List<DailyCarTypeStats> sorted = deltas.stream().sorted(BY_KEY).toList();
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT, sorted.stream()
+                .map(delta -> new Object[]{delta.getPaymentRevenue(), delta.getFineRevenue(),
+                        delta.getRentalsStarted(), delta.getRentalsReturned(),
+                        Date.valueOf(delta.getStatDate()), delta.getCarType().name()})
+                .toList());
+        List<DailyCarTypeStats> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(sorted.get(i));
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public void insertAll(Collection<DailyCarTypeStats> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows.stream()
+                .sorted(BY_KEY)
+                .map(row -> new Object[]{Date.valueOf(row.getStatDate()),
+                        row.getCarType().name(), row.getPaymentRevenue(), row.getFineRevenue(),
+                        row.getRentalsStarted(), row.getRentalsReturned(),
+                        row.getRentalsOverdue(), row.getRentedCars(), row.getFleetSize()})
+                .toList());
+    }
+
+    @Override
+    public List<DailyCarTypeStats> aggregateDay(LocalDate day) {
+        Map<Car.Type, DailyCarTypeStats> rows = new EnumMap<>(Car.Type.class);
+        for (Car.Type type : Car.Type.values()) {
+            rows.put(type, new DailyCarTypeStats(day, type));
+        }
+        Function<String, DailyCarTypeStats> byType = type -> rows.get(Car.Type.valueOf(type));
+        Date date = Date.valueOf(day);
+        jdbcTemplate.query(REVENUE, rs -> {
+            DailyCarTypeStats row = byType.apply(rs.getString(1));
+            BigDecimal amount = rs.getBigDecimal(3);
+            if (amount == null) {
+                return;
+            }
+            if (Payment.Type.FINE.name().equals(rs.getString(2))) {
+                row.setFineRevenue(row.getFineRevenue().add(amount));
+            } else {
+                row.setPaymentRevenue(row.getPaymentRevenue().add(amount));
+            }
+        }, Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1)
+                .atStartOfDay()));
+        jdbcTemplate.query(STARTED, rs -> {
+            byType.apply(rs.getString(1)).setRentalsStarted(rs.getInt(2));
+        }, date);
+        jdbcTemplate.query(RETURNED, rs -> {
+            byType.apply(rs.getString(1)).setRentalsReturned(rs.getInt(2));
+        }, date);
+        jdbcTemplate.query(ON_RENT, rs -> {
+            DailyCarTypeStats row = byType.apply(rs.getString(1));
+            row.setRentedCars(rs.getInt(2));
+            row.setRentalsOverdue(rs.getInt(3));
+        }, date, date, date);
+        return List.copyOf(rows.values());
+    }
+
+    @Override
+    public Map<Car.Type, Integer> countFleet() {
+        Map<Car.Type, Integer> fleet = new EnumMap<>(Car.Type.class);
+        jdbcTemplate.query(AVAILABLE_UNITS, rs -> {
+            fleet.merge(Car.Type.valueOf(rs.getString(1)), rs.getInt(2), Integer::sum);
+        });
+        jdbcTemplate.query(RESERVED_UNITS, rs -> {
+            fleet.merge(Car.Type.valueOf(rs.getString(1)), rs.getInt(2), Integer::sum);
+        });
+        return fleet;
+    }
+
+    @Override
+    public void replaceDay(LocalDate day, Collection<DailyCarTypeStats> rows) {
+        jdbcTemplate.update(DELETE_DAY, Date.valueOf(day));
+        insertAll(rows);
+    }
+}
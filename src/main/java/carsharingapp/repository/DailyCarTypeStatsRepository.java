@@ -0,0 +1,37 @@
+package carsharingapp.repository;
+
+import carsharingapp.dto.report.CarTypeStatsDto;
+import carsharingapp.dto.report.DailyCarTypeStatsDto;
+import carsharingapp.model.Car;
+import carsharingapp.model.DailyCarTypeStats;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailyCarTypeStatsRepository
+        extends JpaRepository<DailyCarTypeStats, DailyCarTypeStats.Key>,
+        DailyCarTypeStatsAggregationRepository {
+
+    @Query("SELECT new carsharingapp.dto.report.DailyCarTypeStatsDto("
+            + "s.statDate, s.carType, s.paymentRevenue, s.fineRevenue, s.rentalsStarted, "
+            + "s.rentalsReturned, s.rentalsOverdue, s.rentedCars, s.fleetSize) "
+            + "FROM DailyCarTypeStats s "
+            + "WHERE s.statDate BETWEEN :from AND :to "
+            + "AND (:carType IS NULL OR s.carType = :carType) "
+            + "ORDER BY s.statDate, s.carType")
+    List<DailyCarTypeStatsDto> findDailyStats(@Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              @Param("carType") Car.Type carType);
+
+    @Query("SELECT new carsharingapp.dto.report.CarTypeStatsDto("
+            + "s.carType, SUM(s.paymentRevenue), SUM(s.fineRevenue), SUM(s.rentalsStarted), "
+            + "SUM(s.rentalsReturned), SUM(s.rentedCars), SUM(s.fleetSize)) "
+            + "FROM DailyCarTypeStats s "
+            + "WHERE s.statDate BETWEEN :from AND :to "
+            + "GROUP BY s.carType "
+            + "ORDER BY s.carType")
+    List<CarTypeStatsDto> findCarTypeTotals(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+}
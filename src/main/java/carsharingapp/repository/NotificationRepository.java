@@ -0,0 +1,32 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.Notification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout",
+            value = "" + LockOptions.SKIP_LOCKED))
+    List<Notification> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            Notification.Status status, LocalDateTime now, Limit limit);
+
+    long countByStatus(Notification.Status status);
+
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications "
+            + "WHERE status = :status AND created_at < :before ORDER BY id LIMIT :limit)",
+            nativeQuery = true)
+    int deleteOldest(@Param("status") String status, @Param("before") LocalDateTime before,
+                     @Param("limit") int limit);
+}
@@ -0,0 +1,11 @@
+package carsharingapp.repository;
+
+import carsharingapp.dto.payment.PaymentExportDto;
+import carsharingapp.model.Payment;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public interface PaymentExportRepository {
+    Stream<PaymentExportDto> streamForExport(LocalDate from, LocalDate to, Payment.Status status,
+                                             Long afterId);
+}
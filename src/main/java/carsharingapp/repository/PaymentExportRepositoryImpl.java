@@ -0,0 +1,55 @@
+package carsharingapp.repository;
+
+import carsharingapp.dto.payment.PaymentExportDto;
+import carsharingapp.model.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+@RequiredArgsConstructor
+public class PaymentExportRepositoryImpl implements PaymentExportRepository {
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<PaymentExportDto> streamForExport(LocalDate from, LocalDate to,
+                                                    Payment.Status status, Long afterId) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PaymentExportDto> query = builder.createQuery(PaymentExportDto.class);
+        Root<Payment> payment = query.from(Payment.class);
+        Path<Long> id = payment.get("id");
+        Path<LocalDateTime> createdAt = payment.get("createdAt");
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId != null) {
+            predicates.add(builder.gt(id, afterId));
+        }
+        if (status != null) {
+            predicates.add(builder.equal(payment.get("status"), status));
+        }
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(createdAt, from.atStartOfDay()));
+        }
+        if (to != null) {
+            predicates.add(builder.lessThan(createdAt, to.plusDays(1).atStartOfDay()));
+        }
+        query.select(builder.construct(PaymentExportDto.class, id, payment.get("type"),
+                        payment.get("status"), payment.get("amountToPay"),
+                        payment.get("sessionId"), createdAt))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(id));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream();
+    }
+}
@@ -1,14 +1,26 @@
 package carsharingapp.repository;
 
 import carsharingapp.model.Payment;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>,
+        PaymentExportRepository, PaymentStatusRepository {
 
     Page<Payment> findAllByRentalUserId(Long searchableId, Pageable pageable);
 
     Optional<Payment> findBySessionId(String sessionId);
+
+    @EntityGraph(attributePaths = "rental.car")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Payment> findAllBySessionIdInAndStatus(Collection<String> sessionIds,
+                                                Payment.Status status);
 }
@@ -0,0 +1,9 @@
+package carsharingapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface PaymentStatusRepository {
+    Set<Long> markPaid(Collection<Long> ids, LocalDateTime paidAt);
+}
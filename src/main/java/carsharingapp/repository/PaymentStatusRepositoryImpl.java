@@ -0,0 +1,34 @@
+package carsharingapp.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class PaymentStatusRepositoryImpl implements PaymentStatusRepository {
+    private static final String MARK_PAID = "UPDATE payments SET status = 'PAID', paid_at = ? "
+            + "WHERE id = ? AND status = 'PENDING' AND is_deleted = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Long> markPaid(Collection<Long> ids, LocalDateTime paidAt) {
+        List<Long> sorted = ids.stream().sorted().toList();
+        Timestamp timestamp = Timestamp.valueOf(paidAt);
+        int[] updated = jdbcTemplate.batchUpdate(MARK_PAID, sorted.stream()
+                .map(id -> new Object[]{timestamp, id})
+                .toList());
+        Set<Long> claimed = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                claimed.add(sorted.get(i));
+            }
+        }
+        return claimed;
+    }
+}
@@ -1,17 +1,107 @@
 package carsharingapp.repository;
 
+import carsharingapp.dto.rental.RentalNotificationDto;
+import carsharingapp.dto.rental.RentalPeriodDto;
+import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.UserRentalDigestDto;
 import carsharingapp.model.Rental;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface RentalRepository extends JpaRepository<Rental, Long> {
-    List<Rental> getRentalsByUser_Id(Long userId);
+    String RENTAL_RESPONSE_PROJECTION = "SELECT new carsharingapp.dto.rental.RentalResponseDto("
+            + "r.id, r.rentalDate, r.returnDate, r.actualReturnDate, r.car.id, r.user.id) "
+            + "FROM Rental r ";
+
+    @Query(value = RENTAL_RESPONSE_PROJECTION + "WHERE r.user.id = :userId",
+            countQuery = "SELECT COUNT(r) FROM Rental r WHERE r.user.id = :userId")
+    Page<RentalResponseDto> findRentalsByUserId(@Param("userId") Long userId,
+                                                Pageable pageable);
+
+    @Query(value = RENTAL_RESPONSE_PROJECTION
+            + "WHERE r.user.id = :userId AND r.actualReturnDate IS NULL",
+            countQuery = "SELECT COUNT(r) FROM Rental r "
+                    + "WHERE r.user.id = :userId AND r.actualReturnDate IS NULL")
+    Page<RentalResponseDto> findActiveRentalsByUserId(@Param("userId") Long userId,
+                                                      Pageable pageable);
+
+    @Query(value = RENTAL_RESPONSE_PROJECTION
+            + "WHERE r.user.id = :userId AND r.actualReturnDate IS NOT NULL",
+            countQuery = "SELECT COUNT(r) FROM Rental r "
+                    + "WHERE r.user.id = :userId AND r.actualReturnDate IS NOT NULL")
+    Page<RentalResponseDto> findReturnedRentalsByUserId(@Param("userId") Long userId,
+                                                        Pageable pageable);
 
     Optional<Rental> findByUser_IdAndId(Long userId, Long rentalId);
 
-    List<Rental> findByReturnDateAfterOrActualReturnDateIsNotNull(LocalDate now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Rental r WHERE r.id = :id")
+    Optional<Rental> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Rental r WHERE r.id IN :ids ORDER BY r.id")
+    List<Rental> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM Rental r JOIN FETCH r.user JOIN FETCH r.car WHERE r.id IN :ids")
+    List<Rental> findAllWithUserAndCarByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new carsharingapp.dto.rental.RentalNotificationDto(r.id, u.id, u.firstName, "
+            + "c.brand, c.model, r.rentalDate, r.returnDate) "
+            + "FROM Rental r JOIN r.user u JOIN r.car c "
+            + "WHERE r.returnDate < :date AND r.actualReturnDate IS NULL AND r.id > :lastId "
+            + "ORDER BY r.id")
+    List<RentalNotificationDto> findOverdueRentalsAfter(@Param("date") LocalDate date,
+                                                        @Param("lastId") Long lastId,
+                                                        Limit limit);
+
+    @Query("SELECT new carsharingapp.dto.rental.UserRentalDigestDto(u.id, u.firstName, "
+            + "SUM(CASE WHEN r.actualReturnDate IS NULL THEN 1 ELSE 0 END)) "
+            + "FROM Rental r JOIN r.user u "
+            + "WHERE (r.returnDate > :date OR r.actualReturnDate IS NOT NULL) "
+            + "AND u.id > :lastUserId "
+            + "AND NOT EXISTS (SELECT 1 FROM Rental o WHERE o.user = u "
+            + "AND o.returnDate < :date AND o.actualReturnDate IS NULL) "
+            + "GROUP BY u.id, u.firstName ORDER BY u.id")
+    List<UserRentalDigestDto> findNonOverdueRentalDigestsAfter(
+            @Param("date") LocalDate date,
+            @Param("lastUserId") Long lastUserId,
+            Limit limit);
+
+    @Query("SELECT new carsharingapp.dto.rental.RentalPeriodDto(r.car.id, r.rentalDate, "
+            + "r.returnDate, r.inventoryReserved) "
+            + "FROM Rental r WHERE r.actualReturnDate IS NULL")
+    List<RentalPeriodDto> findOpenRentalPeriods();
+
+    @Query("SELECT new carsharingapp.dto.rental.RentalPeriodDto(r.car.id, r.rentalDate, "
+            + "r.returnDate, r.inventoryReserved) "
+            + "FROM Rental r WHERE r.car.id = :carId AND r.actualReturnDate IS NULL "
+            + "AND (r.inventoryReserved = true OR (r.rentalDate < :to AND r.returnDate > :from))")
+    List<RentalPeriodDto> findOpenRentalPeriodsByCarId(@Param("carId") Long carId,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+
+    @Query("SELECT new carsharingapp.dto.rental.RentalPeriodDto(r.car.id, r.rentalDate, "
+            + "r.returnDate, r.inventoryReserved) "
+            + "FROM Rental r WHERE r.car.id = :carId AND r.actualReturnDate IS NULL")
+    List<RentalPeriodDto> findAllOpenRentalPeriodsByCarId(@Param("carId") Long carId);
 
-    List<Rental> findByReturnDateBeforeAndActualReturnDateIsNull(LocalDate now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout",
+            value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT r FROM Rental r WHERE r.rentalDate <= :date AND r.inventoryReserved = false "
+            + "AND r.activationFailed = false AND r.actualReturnDate IS NULL ORDER BY r.id")
+    List<Rental> findUnreservedRentalsStartingBy(@Param("date") LocalDate date);
 }
@@ -1,9 +1,18 @@
 package carsharingapp.repository;
 
 import carsharingapp.model.Role;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    String ROLE_QUERIES_REGION = "role-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ROLE_QUERIES_REGION)
+    })
     Optional<Role> findByRoleName(Role.RoleName roleName);
 }
@@ -0,0 +1,18 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.StripeEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface StripeEventRepository extends JpaRepository<StripeEvent, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout",
+            value = "" + LockOptions.SKIP_LOCKED))
+    List<StripeEvent> findByProcessedFalseOrderByReceivedAtAsc(Limit limit);
+}
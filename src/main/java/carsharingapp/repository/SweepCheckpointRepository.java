@@ -0,0 +1,21 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.SweepCheckpoint;
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.lastProcessedId = :lastProcessedId "
+            + "WHERE c.jobName = :jobName")
+    int updateLastProcessedId(@Param("jobName") String jobName,
+                              @Param("lastProcessedId") Long lastProcessedId);
+
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.runDate = :runDate, c.lastProcessedId = 0, "
+            + "c.completed = false WHERE c.jobName = :jobName AND c.runDate < :runDate")
+    int claimRun(@Param("jobName") String jobName, @Param("runDate") LocalDate runDate);
+}
@@ -0,0 +1,33 @@
+package carsharingapp.repository;
+
+import carsharingapp.model.TelegramUpdateState;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TelegramUpdateStateRepository extends JpaRepository<TelegramUpdateState, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE TelegramUpdateState s SET s.leaseOwner = :owner, s.leaseUntil = :until "
+            + "WHERE s.name = :name AND (s.leaseOwner = :owner "
+            + "OR s.leaseUntil IS NULL OR s.leaseUntil < :now)")
+    int acquireLease(@Param("name") String name,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TelegramUpdateState s SET s.leaseUntil = NULL "
+            + "WHERE s.name = :name AND s.leaseOwner = :owner")
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TelegramUpdateState s SET s.lastUpdateId = :updateId "
+            + "WHERE s.name = :name AND s.lastUpdateId < :updateId")
+    int advanceOffset(@Param("name") String name, @Param("updateId") long updateId);
+}
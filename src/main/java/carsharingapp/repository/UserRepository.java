@@ -4,10 +4,19 @@ import carsharingapp.model.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    Optional<User> findByTgLinkToken(String tgLinkToken);
+
+    boolean existsByTgChatIdAndIdNot(String tgChatId, Long id);
+
+    @Query("SELECT u.tgChatId FROM User u WHERE u.id = :id")
+    Optional<String> findTgChatIdById(@Param("id") Long id);
 }
@@ -0,0 +1,59 @@
+package carsharingapp.security;
+
+import carsharingapp.model.User;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal of bearer-token requests: an immutable copy of what authorization needs, taken
+ * when the token is validated. Cached authentications share this snapshot across requests
+ * instead of a managed {@link User} entity.
+ */
+public record AuthenticatedUser(Long id, String username, List<GrantedAuthority> authorities,
+                                boolean enabled) implements UserDetails {
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(),
+                user.getAuthorities().stream()
+                        .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(
+                                role.getAuthority()))
+                        .toList(),
+                user.isEnabled());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,82 @@
+package carsharingapp.security;
+
+import carsharingapp.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthenticationCache {
+    private final Cache<String, CachedPrincipal> principals;
+
+    public AuthenticationCache(@Value("${jwt.cache.max-size}") long maxSize,
+                               @Value("${jwt.cache.ttl}") Duration ttl) {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl))
+                .build();
+    }
+
+    public AuthenticatedUser get(String token) {
+        CachedPrincipal cached = principals.getIfPresent(hash(token));
+        return cached == null ? null : cached.principal();
+    }
+
+    public void put(String token, AuthenticatedUser principal, Instant tokenExpiration) {
+        principals.put(hash(token), new CachedPrincipal(principal, tokenExpiration));
+    }
+
+    public void evictUser(Long userId) {
+        removeUser(userId);
+        TransactionUtil.afterCommit(() -> removeUser(userId));
+    }
+
+    public long size() {
+        return principals.estimatedSize();
+    }
+
+    private void removeUser(Long userId) {
+        principals.asMap().values().removeIf(cached -> userId.equals(cached.principal().id()));
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedPrincipal(AuthenticatedUser principal, Instant tokenExpiration) {
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<String, CachedPrincipal> {
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            Duration untilTokenExpires = Duration.between(Instant.now(), value.tokenExpiration());
+            return Math.max(0, Math.min(ttl.toNanos(), untilTokenExpires.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -21,14 +21,20 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new EntityNotFoundException("User " + email + " not found"));
     }
 
+    public AuthenticatedUser loadAuthenticatedUser(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new EntityNotFoundException("User " + email + " not found"));
+    }
+
     public User getUserFromAuthentication(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        return userRepository.findById(user.getId())
+        Long userId = getUserIdFromAuthentication(authentication);
+        return userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User with ID "
-                        + user.getId() + " not found"));
+                        + userId + " not found"));
     }
 
     public Long getUserIdFromAuthentication(Authentication authentication) {
-        return ((User) authentication.getPrincipal()).getId();
+        return ((AuthenticatedUser) authentication.getPrincipal()).id();
     }
 }
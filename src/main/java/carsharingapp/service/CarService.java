@@ -1,7 +1,10 @@
 package carsharingapp.service;
 
 import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.car.CarSearchParametersDto;
+import carsharingapp.dto.car.CarSearchResultDto;
 import carsharingapp.dto.car.CreateCarRequestDto;
+import java.time.LocalDate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +13,10 @@ public interface CarService {
 
     Page<CarDto> findAll(Pageable pageable);
 
+    CarSearchResultDto search(CarSearchParametersDto parameters);
+
+    Page<CarDto> findAvailable(LocalDate from, LocalDate to, Pageable pageable);
+
     CarDto getById(Long id);
 
     CarDto update(Long id, CreateCarRequestDto carDto);
@@ -0,0 +1,16 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.car.CarImportReportDto;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface CarTransferService {
+    CarImportReportDto importCars(InputStream input, Format format);
+
+    void exportCars(OutputStream output, Format format);
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+}
@@ -0,0 +1,15 @@
+package carsharingapp.service;
+
+import java.util.Map;
+
+public interface InventoryService {
+    boolean reserve(Long carId);
+
+    void release(Long carId);
+
+    void releaseAll(Map<Long, Integer> unitsByCarId);
+
+    void evict(Long carId);
+
+    void reconcile();
+}
@@ -0,0 +1,13 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.payment.PaymentExportFilterDto;
+import java.io.OutputStream;
+
+public interface PaymentExportService {
+    void exportPayments(PaymentExportFilterDto filter, OutputStream output, Format format);
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+}
@@ -0,0 +1,9 @@
+package carsharingapp.service;
+
+public interface PaymentWebhookService {
+    void handleEvent(String payload, String signature);
+
+    void applyPendingEvents();
+
+    void reconcile();
+}
@@ -1,17 +1,25 @@
 package carsharingapp.service;
 
+import carsharingapp.dto.rental.BulkRentalReturnRequestDto;
 import carsharingapp.dto.rental.RentalRequestDto;
 import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.RentalReturnReportDto;
 import carsharingapp.dto.rental.RentalUpdateDto;
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
 public interface RentalService {
     RentalResponseDto createRental(Authentication authentication, RentalRequestDto requestDto);
 
-    List<RentalResponseDto> getRentalsByUserId(Long userId, Boolean isActive);
+    Page<RentalResponseDto> getRentalsByUserId(Long userId, Boolean isActive,
+                                               Pageable pageable);
 
     RentalResponseDto getSpecificRentalByUser_Id_And_Rental_Id(Long userId, Long rentalId);
 
     RentalResponseDto updateRentalReturnDate(Long rentalId, RentalUpdateDto updateDto);
+
+    RentalReturnReportDto returnRentals(BulkRentalReturnRequestDto requestDto);
+
+    void activateDueRentals();
 }
@@ -0,0 +1,26 @@
+package carsharingapp.service;
+
+import carsharingapp.dto.report.CarTypeStatsDto;
+import carsharingapp.dto.report.DailyCarTypeStatsDto;
+import carsharingapp.model.Car;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReportService {
+    void recordRentalsStarted(Collection<Rental> rentals);
+
+    void recordRentalsReturned(Collection<Rental> rentals);
+
+    void recordPaymentsPaid(Collection<Payment> payments);
+
+    List<DailyCarTypeStatsDto> getDailyStats(LocalDate from, LocalDate to, Car.Type carType);
+
+    List<CarTypeStatsDto> getCarTypeTotals(LocalDate from, LocalDate to);
+
+    int rebuild(LocalDate from, LocalDate to);
+
+    void catchUp();
+}
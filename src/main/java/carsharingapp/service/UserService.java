@@ -1,5 +1,6 @@
 package carsharingapp.service;
 
+import carsharingapp.dto.user.TelegramLinkResponseDto;
 import carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import carsharingapp.dto.user.UserRegistrationRequestDto;
@@ -13,4 +14,8 @@ public interface UserService {
     UserResponseDto getCurrentUserProfile(String name);
 
     UserResponseDto updateProfileInfo(String name, UpdateUserProfileRequestDto requestDto);
+
+    TelegramLinkResponseDto createTelegramLink(String name);
+
+    boolean linkTelegramChat(String linkToken, String chatId);
 }
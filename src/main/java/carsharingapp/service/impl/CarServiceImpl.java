@@ -1,40 +1,86 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.cache.CarCatalogCache;
 import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.car.CarSearchParametersDto;
+import carsharingapp.dto.car.CarSearchResultDto;
 import carsharingapp.dto.car.CreateCarRequestDto;
 import carsharingapp.exception.EntityNotFoundException;
+import carsharingapp.exception.RentalPeriodException;
 import carsharingapp.mapper.CarMapper;
 import carsharingapp.model.Car;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.service.CarService;
+import carsharingapp.service.InventoryService;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class CarServiceImpl implements CarService {
+    private static final Sort SEARCH_ORDER = Sort.by("dailyFee", "id");
+
     private final CarRepository carRepository;
     private final CarMapper carMapper;
+    private final InventoryService inventoryService;
+    private final CarCatalogCache carCatalogCache;
 
     @Override
     public CarDto save(CreateCarRequestDto requestDto) {
         Car car = carMapper.toEntity(requestDto);
-        return carMapper.toDto(carRepository.save(car));
+        CarDto savedCar = carMapper.toDto(carRepository.save(car));
+        carCatalogCache.evictCatalog(savedCar.getId());
+        return savedCar;
     }
 
     @Override
     public Page<CarDto> findAll(Pageable pageable) {
-        return carRepository.findAll(pageable)
-                .map(carMapper::toDto);
+        return carCatalogCache.getPage(pageable,
+                page -> carRepository.findAll(page).map(carMapper::toDto),
+                this::findAllById);
+    }
+
+    @Override
+    public CarSearchResultDto search(CarSearchParametersDto parameters) {
+        int size = parameters.getSize();
+        List<Car> cars = carRepository.findBy(toSpecification(parameters),
+                query -> query.sortBy(SEARCH_ORDER).limit(size + 1).all());
+        CarSearchResultDto result = new CarSearchResultDto();
+        if (cars.size() > size) {
+            cars = cars.subList(0, size);
+            Car last = cars.get(size - 1);
+            result.setNextAfterFee(last.getDailyFee()).setNextAfterId(last.getId());
+        }
+        return result.setCars(cars.stream().map(carMapper::toDto).toList());
+    }
+
+    @Override
+    public Page<CarDto> findAvailable(LocalDate from, LocalDate to, Pageable pageable) {
+        if (!to.isAfter(from)) {
+            throw new RentalPeriodException("End date " + to + " must be after start date " + from);
+        }
+        return carRepository.findAvailable(from, to, pageable).map(carMapper::toDto);
     }
 
     @Override
     public CarDto getById(Long id) {
-        Car car = carRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Canʼt find car by id " + id));
-        return carMapper.toDto(car);
+        return carCatalogCache.getCar(id, carId -> carRepository.findById(carId)
+                .map(carMapper::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Canʼt find car by id " + carId)));
     }
 
     @Override
@@ -43,6 +89,8 @@ public class CarServiceImpl implements CarService {
                 .orElseThrow(() -> new EntityNotFoundException("Can't find car by id " + id));
         carMapper.updateCarFromDto(carDto, car);
         carRepository.save(car);
+        inventoryService.evict(id);
+        carCatalogCache.evictCatalog(id);
         return carMapper.toDto(car);
     }
 
@@ -52,5 +100,42 @@ public class CarServiceImpl implements CarService {
             throw new EntityNotFoundException("Can't find car by id " + id);
         }
         carRepository.deleteById(id);
+        inventoryService.evict(id);
+        carCatalogCache.evictCatalog(id);
+    }
+
+    private Specification<Car> toSpecification(CarSearchParametersDto parameters) {
+        return (root, query, builder) -> {
+            Path<BigDecimal> dailyFee = root.get("dailyFee");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(builder.isNotNull(dailyFee));
+            if (parameters.getType() != null) {
+                predicates.add(builder.equal(root.get("type"), parameters.getType()));
+            }
+            if (parameters.getBrand() != null) {
+                predicates.add(builder.equal(root.get("brand"), parameters.getBrand()));
+            }
+            if (parameters.getMinFee() != null) {
+                predicates.add(builder.ge(dailyFee, parameters.getMinFee()));
+            }
+            if (parameters.getMaxFee() != null) {
+                predicates.add(builder.le(dailyFee, parameters.getMaxFee()));
+            }
+            if (parameters.isInStock()) {
+                predicates.add(builder.gt(root.get("inventory"), 0));
+            }
+            if (parameters.getAfterFee() != null) {
+                predicates.add(builder.ge(dailyFee, parameters.getAfterFee()));
+                predicates.add(builder.or(builder.gt(dailyFee, parameters.getAfterFee()),
+                        builder.gt(root.get("id"), parameters.getAfterId())));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private Map<Long, CarDto> findAllById(Collection<Long> ids) {
+        return carRepository.findAllById(ids).stream()
+                .map(carMapper::toDto)
+                .collect(Collectors.toMap(CarDto::getId, Function.identity()));
     }
 }
@@ -0,0 +1,248 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.cache.CarCatalogCache;
+import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.car.CarImportReportDto;
+import carsharingapp.dto.car.CarImportRowResultDto;
+import carsharingapp.dto.car.CreateCarRequestDto;
+import carsharingapp.exception.CarImportException;
+import carsharingapp.mapper.CarMapper;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.CarTransferService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class CarTransferServiceImpl implements CarTransferService {
+    private static final Set<String> CSV_COLUMNS =
+            Set.of("model", "brand", "type", "inventory", "dailyFee");
+    private static final String[] EXPORT_COLUMNS =
+            {"id", "model", "brand", "type", "inventory", "dailyFee"};
+
+    private final CarRepository carRepository;
+    private final CarMapper carMapper;
+    private final CarCatalogCache carCatalogCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final int batchSize;
+
+    public CarTransferServiceImpl(CarRepository carRepository,
+                                  CarMapper carMapper,
+                                  CarCatalogCache carCatalogCache,
+                                  TransactionTemplate transactionTemplate,
+                                  EntityManager entityManager,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${car.import.batch-size}") int batchSize) {
+        this.carRepository = carRepository;
+        this.carMapper = carMapper;
+        this.carCatalogCache = carCatalogCache;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public CarImportReportDto importCars(InputStream input, Format format) {
+        CarImportReportDto report = new CarImportReportDto();
+        List<PendingCar> batch = new ArrayList<>(batchSize);
+        try {
+            if (format == Format.CSV) {
+                importCsv(input, batch, report);
+            } else {
+                importJsonLines(input, batch, report);
+            }
+            flush(batch, report);
+        } catch (IOException e) {
+            throw new CarImportException("Can't read car import payload", e);
+        } finally {
+            if (report.getCreated() > 0) {
+                carCatalogCache.evictCatalog(null);
+            }
+        }
+        report.getRows().sort(Comparator.comparingLong(CarImportRowResultDto::getRow));
+        return report;
+    }
+
+    @Override
+    public void exportCars(OutputStream output, Format format) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Car> cars = carRepository.streamAllByOrderByIdAsc();
+                    SequenceWriter writer = exportWriter(output, format)) {
+                cars.forEach(car -> {
+                    write(writer, carMapper.toDto(car));
+                    entityManager.detach(car);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void importCsv(InputStream input, List<PendingCar> batch,
+                           CarImportReportDto report) throws IOException {
+        try (MappingIterator<CreateCarRequestDto> rows = csvMapper
+                .readerFor(CreateCarRequestDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .with(CsvParser.Feature.TRIM_SPACES)
+                .readValues(input)) {
+            boolean hasNext = rows.hasNextValue();
+            checkCsvHeader(((CsvParser) rows.getParser()).getSchema());
+            while (hasNext) {
+                long row = rows.getCurrentLocation().getLineNr();
+                try {
+                    accept(validate(row, rows.nextValue(), report), batch, report);
+                } catch (JsonProcessingException e) {
+                    reject(report, row, List.of(e.getOriginalMessage()));
+                }
+                hasNext = rows.hasNextValue();
+            }
+        }
+    }
+
+    private void importJsonLines(InputStream input, List<PendingCar> batch,
+                                 CarImportReportDto report) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(CreateCarRequestDto.class);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    accept(validate(row, rowReader.readValue(line), report), batch, report);
+                } catch (JsonProcessingException e) {
+                    reject(report, row, List.of(e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    private void checkCsvHeader(CsvSchema schema) {
+        if (schema.size() == 0) {
+            throw new CarImportException("CSV payload has no header row");
+        }
+        List<String> columns = new ArrayList<>();
+        schema.forEach(column -> columns.add(column.getName()));
+        if (!CSV_COLUMNS.containsAll(columns) || !Set.copyOf(columns).containsAll(CSV_COLUMNS)) {
+            throw new CarImportException("CSV header must contain exactly the columns "
+                    + CSV_COLUMNS + ", got " + columns);
+        }
+    }
+
+    private PendingCar validate(long row, CreateCarRequestDto requestDto,
+                                CarImportReportDto report) {
+        Set<ConstraintViolation<CreateCarRequestDto>> violations =
+                validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            reject(report, row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .toList());
+            return null;
+        }
+        return new PendingCar(row, carMapper.toEntity(requestDto));
+    }
+
+    private void accept(PendingCar pending, List<PendingCar> batch, CarImportReportDto report) {
+        if (pending != null) {
+            batch.add(pending);
+        }
+        if (batch.size() >= batchSize) {
+            flush(batch, report);
+        }
+    }
+
+    private void flush(List<PendingCar> batch, CarImportReportDto report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    carRepository.saveAll(batch.stream().map(PendingCar::car).toList()));
+            batch.forEach(pending -> report.getRows().add(new CarImportRowResultDto()
+                    .setRow(pending.row())
+                    .setCarId(pending.car().getId())
+                    .setStatus(CarImportRowResultDto.Status.CREATED)));
+            report.setCreated(report.getCreated() + batch.size())
+                    .setTotal(report.getTotal() + batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Car import batch of {} rows failed: {}", batch.size(), e.getMessage());
+            List<String> errors = List.of(e.getMostSpecificCause().getMessage());
+            batch.forEach(pending -> report.getRows().add(new CarImportRowResultDto()
+                    .setRow(pending.row())
+                    .setStatus(CarImportRowResultDto.Status.FAILED)
+                    .setErrors(errors)));
+            report.setFailed(report.getFailed() + batch.size())
+                    .setTotal(report.getTotal() + batch.size());
+        }
+        batch.clear();
+    }
+
+    private void reject(CarImportReportDto report, long row, List<String> errors) {
+        report.getRows().add(new CarImportRowResultDto()
+                .setRow(row)
+                .setStatus(CarImportRowResultDto.Status.REJECTED)
+                .setErrors(errors));
+        report.setRejected(report.getRejected() + 1)
+                .setTotal(report.getTotal() + 1);
+    }
+
+    private SequenceWriter exportWriter(OutputStream output, Format format) throws IOException {
+        if (format == Format.CSV) {
+            CsvSchema schema = csvMapper.schemaFor(CarDto.class)
+                    .sortedBy(EXPORT_COLUMNS)
+                    .withHeader();
+            return csvMapper.writer(schema).writeValues(output);
+        }
+        return objectMapper.writer().withRootValueSeparator("\n").writeValues(output);
+    }
+
+    private void write(SequenceWriter writer, CarDto car) {
+        try {
+            writer.write(car);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PendingCar(long row, Car car) {
+    }
+}
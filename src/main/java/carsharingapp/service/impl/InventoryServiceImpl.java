@@ -0,0 +1,85 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.cache.CarCatalogCache;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.InventoryService;
+import carsharingapp.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final CarRepository carRepository;
+    private final CarCatalogCache carCatalogCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, AtomicInteger> availableUnits = new ConcurrentHashMap<>();
+    private final AtomicLong releases = new AtomicLong();
+
+    @Override
+    public boolean reserve(Long carId) {
+        // Stock may have come back on another node since the hint was taken, so the
+        // conditional decrement always decides; a sold out hint only saves the catalog eviction.
+        AtomicInteger units = availableUnits.get(carId);
+        boolean knownSoldOut = units != null && units.get() <= 0;
+        if (carRepository.decrementInventory(carId) == 0) {
+            meterRegistry.counter("inventory.rejections", "source", "database").increment();
+            if (!knownSoldOut) {
+                availableUnits.put(carId, new AtomicInteger(0));
+                carCatalogCache.evictCar(carId);
+            }
+            return false;
+        }
+        carCatalogCache.evictCar(carId);
+        TransactionUtil.afterCommit(() -> availableUnits.computeIfPresent(carId,
+                (id, hint) -> hint.decrementAndGet() < 0 ? null : hint));
+        return true;
+    }
+
+    @Override
+    public void release(Long carId) {
+        carRepository.incrementInventory(carId);
+        carCatalogCache.evictCar(carId);
+        TransactionUtil.afterCommit(() -> {
+            releases.incrementAndGet();
+            availableUnits.remove(carId);
+        });
+    }
+
+    @Override
+    public void releaseAll(Map<Long, Integer> unitsByCarId) {
+        carRepository.incrementInventory(unitsByCarId);
+        unitsByCarId.keySet().forEach(carCatalogCache::evictCar);
+        TransactionUtil.afterCommit(() -> {
+            releases.incrementAndGet();
+            availableUnits.keySet().removeAll(unitsByCarId.keySet());
+        });
+    }
+
+    @Override
+    public void evict(Long carId) {
+        availableUnits.remove(carId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.reconciliation.interval:60000}")
+    public void reconcile() {
+        long releasesBefore = releases.get();
+        Map<Long, Integer> snapshot = carRepository.findAllInventory();
+        boolean releasedMeanwhile = releases.get() != releasesBefore;
+        availableUnits.keySet().retainAll(snapshot.keySet());
+        snapshot.forEach((carId, inventory) -> {
+            if (inventory > 0 || !releasedMeanwhile) {
+                availableUnits.put(carId, new AtomicInteger(inventory));
+            } else {
+                availableUnits.remove(carId);
+            }
+        });
+    }
+}
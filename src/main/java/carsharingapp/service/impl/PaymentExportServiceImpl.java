@@ -0,0 +1,96 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.payment.PaymentExportDto;
+import carsharingapp.dto.payment.PaymentExportFilterDto;
+import carsharingapp.repository.PaymentRepository;
+import carsharingapp.service.PaymentExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class PaymentExportServiceImpl implements PaymentExportService {
+    private static final String[] EXPORT_COLUMNS =
+            {"id", "type", "status", "amountToPay", "sessionId", "createdAt"};
+
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    public PaymentExportServiceImpl(PaymentRepository paymentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${payment.export.timeout}") Duration timeout) {
+        this.paymentRepository = paymentRepository;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        // The transaction timeout only bounds statement execution; later cursor fetches and
+        // writes to a slow client are bounded by the per-row deadline in exportPayments.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) timeout.toSeconds());
+    }
+
+    @Override
+    public void exportPayments(PaymentExportFilterDto filter, OutputStream output,
+                               Format format) {
+        Instant deadline = Instant.now().plus(timeout);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PaymentExportDto> payments = paymentRepository.streamForExport(
+                    filter.getFrom(), filter.getTo(), filter.getStatus(), filter.getAfterId());
+                    SequenceWriter writer = exportWriter(output, format)) {
+                payments.forEach(payment -> {
+                    if (!Instant.now().isBefore(deadline)) {
+                        throw new TransactionTimedOutException("Payment export exceeded "
+                                + timeout + ", resume with afterId of the last row received");
+                    }
+                    write(writer, payment);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private SequenceWriter exportWriter(OutputStream output, Format format) throws IOException {
+        if (format == Format.CSV) {
+            CsvSchema schema = csvMapper.schemaFor(PaymentExportDto.class)
+                    .sortedBy(EXPORT_COLUMNS)
+                    .withHeader();
+            return csvMapper.writer(schema)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValues(output);
+        }
+        return objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(output);
+    }
+
+    private void write(SequenceWriter writer, PaymentExportDto payment) {
+        try {
+            writer.write(payment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,101 +4,93 @@ import carsharingapp.dto.payment.PaymentRequestDto;
 import carsharingapp.dto.payment.PaymentResponseDto;
 import carsharingapp.exception.EntityNotFoundException;
 import carsharingapp.exception.NotificationException;
+import carsharingapp.exception.PaymentException;
 import carsharingapp.mapper.PaymentMapper;
 import carsharingapp.model.Payment;
 import carsharingapp.model.Rental;
-import carsharingapp.model.User;
 import carsharingapp.notification.NotificationService;
+import carsharingapp.payment.CheckoutSession;
+import carsharingapp.payment.PaymentGateway;
 import carsharingapp.repository.PaymentRepository;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.security.CustomUserDetailsService;
 import carsharingapp.service.PaymentService;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
-import com.stripe.param.checkout.SessionCreateParams;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
-    private static final String CURRENCY = "usd";
     private final CustomUserDetailsService customUserDetailsService;
     private final NotificationService notificationService;
     private final PaymentRepository paymentRepository;
     private final RentalRepository rentalRepository;
     private final PaymentMapper paymentMapper;
-
-    @Value("${stripe.secret.key}")
-    private String stripeSecretKey;
-    @Value("${payment.success.url}")
-    private String successUrl;
-    @Value("${payment.cancel.url}")
-    private String cancelUrl;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    public Page<PaymentResponseDto> getPayments(User user, Pageable pageable) {
-        boolean isAdmin = user.getAuthorities().stream()
+    public Page<PaymentResponseDto> getPayments(Authentication authentication,
+                                                Pageable pageable) {
+        boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         if (isAdmin) {
             return paymentRepository.findAll(pageable)
                     .map(paymentMapper::toDto);
         }
-        return paymentRepository.findAllByRentalUserId(user.getId(), pageable)
+        return paymentRepository.findAllByRentalUserId(
+                        customUserDetailsService.getUserIdFromAuthentication(authentication),
+                        pageable)
                 .map(paymentMapper::toDto);
     }
 
-    @Transactional
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public PaymentResponseDto createPaymentSession(Authentication authentication,
                                                    PaymentRequestDto dto) {
         Long userId = customUserDetailsService.getUserIdFromAuthentication(authentication);
         Long rentalId = dto.getRentalId();
-        Rental rental = rentalRepository
-                .findByUser_IdAndId(userId, rentalId)
-                .orElseThrow(() -> new EntityNotFoundException("Rental don`t found by userId: "
-                        + userId));
-
-        BigDecimal amount = calculateAmount(rental, Payment.Type.valueOf(dto.getPaymentType()));
-        Stripe.apiKey = stripeSecretKey;
-        SessionCreateParams sessionParams = createSessionParams(amount);
-        Session session = null;
+        Payment.Type type = Payment.Type.valueOf(dto.getPaymentType());
+        PaymentDraft draft = transactionTemplate.execute(status -> {
+            Rental rental = rentalRepository
+                    .findByUser_IdAndId(userId, rentalId)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Rental don`t found by userId: " + userId));
+            return new PaymentDraft(findPayment(rental.getId(), type),
+                    calculateAmount(rental, type));
+        });
+        if (draft.existing() != null) {
+            return draft.existing();
+        }
+        CheckoutSession session = paymentGateway.createCheckoutSession(draft.amount(),
+                idempotencyKey(rentalId, type, draft.amount()));
         try {
-            session = Session.create(sessionParams);
-        } catch (StripeException e) {
-            throw new RuntimeException("Can`t create Stripe Session!");
+            return transactionTemplate.execute(status -> savePayment(
+                    userId, rentalId, type, draft.amount(), session));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> Optional
+                    .ofNullable(findPayment(rentalId, type))
+                    .orElseThrow(() -> new PaymentException(
+                            "Can`t save payment for rental " + rentalId, e)));
         }
-        Payment payment = new Payment();
-        payment.setStatus(Payment.Status.PENDING);
-        payment.setType(Payment.Type.valueOf(dto.getPaymentType()));
-        payment.setRental(rental);
-        payment.setSessionUrl(session.getUrl());
-        payment.setSessionId(session.getId());
-        payment.setAmountToPay(amount);
-        return paymentMapper.toDto(paymentRepository.save(payment));
     }
 
     @Override
-    public void paymentSuccess(String sessionId) throws NotificationException {
+    public PaymentResponseDto paymentSuccess(String sessionId) {
         Payment payment = paymentRepository.findBySessionId(sessionId).orElseThrow(
                 () -> new EntityNotFoundException("Payment not found by sessionId: " + sessionId));
-
-        if (isPaymentSessionPaid(sessionId)) {
-            payment.setStatus(Payment.Status.PAID);
-            paymentRepository.save(payment);
-            notificationService.sendPaymentSuccessNotification(payment);
-        } else {
-            throw new RuntimeException("Payment was not successful for sessionId: " + sessionId);
-        }
+        return paymentMapper.toDto(payment);
     }
 
     @Override
@@ -111,7 +103,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
-    private BigDecimal calculateAmount(Rental rental, Payment.Type type) {
+    BigDecimal calculateAmount(Rental rental, Payment.Type type) {
         BigDecimal baseAmount = rental.getCar().getDailyFee();
         if (type == Payment.Type.FINE) {
             long overdueDays = ChronoUnit.DAYS.between(
@@ -123,43 +115,37 @@ public class PaymentServiceImpl implements PaymentService {
         return baseAmount;
     }
 
-    private SessionCreateParams createSessionParams(BigDecimal amount) {
-        return SessionCreateParams.builder()
-                .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
-                .setMode(SessionCreateParams.Mode.PAYMENT)
-                .setSuccessUrl(successUrl)
-                .setCancelUrl(cancelUrl)
-                .addLineItem(
-                        SessionCreateParams.LineItem.builder()
-                                .setQuantity(1L)
-                                .setPriceData(
-                                        SessionCreateParams.LineItem.PriceData.builder()
-                                                .setCurrency(CURRENCY)
-                                                .setUnitAmount(amount
-                                                        .multiply(BigDecimal.valueOf(100))
-                                                        .longValue())
-                                                .setProductData(
-                                                        SessionCreateParams
-                                                                .LineItem
-                                                                .PriceData
-                                                                .ProductData
-                                                                .builder()
-                                                                .setName("Car Rental Payment")
-                                                                .build()
-                                                )
-                                                .build()
-                                )
-                                .build()
-                )
-                .build();
+    private PaymentResponseDto findPayment(Long rentalId, Payment.Type type) {
+        return paymentRepository.findById(rentalId)
+                .filter(payment -> payment.getType() == type)
+                .map(paymentMapper::toDto)
+                .orElse(null);
     }
 
-    private boolean isPaymentSessionPaid(String sessionId) {
-        try {
-            Session session = Session.retrieve(sessionId);
-            return "paid".equals(session.getPaymentStatus());
-        } catch (StripeException e) {
-            throw new RuntimeException("Error retrieving Stripe session: " + sessionId, e);
+    private PaymentResponseDto savePayment(Long userId, Long rentalId, Payment.Type type,
+                                           BigDecimal amount, CheckoutSession session) {
+        PaymentResponseDto existing = findPayment(rentalId, type);
+        if (existing != null) {
+            return existing;
         }
+        Rental rental = rentalRepository.findByUser_IdAndId(userId, rentalId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Rental don`t found by userId: " + userId));
+        Payment payment = new Payment();
+        payment.setStatus(Payment.Status.PENDING);
+        payment.setType(type);
+        payment.setRental(rental);
+        payment.setSessionUrl(session.url());
+        payment.setSessionId(session.id());
+        payment.setAmountToPay(amount);
+        payment.setCreatedAt(LocalDateTime.now());
+        return paymentMapper.toDto(paymentRepository.saveAndFlush(payment));
+    }
+
+    private String idempotencyKey(Long rentalId, Payment.Type type, BigDecimal amount) {
+        return "payment-session:" + rentalId + ":" + type + ":" + amount.toPlainString();
+    }
+
+    private record PaymentDraft(PaymentResponseDto existing, BigDecimal amount) {
     }
 }
@@ -0,0 +1,132 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.exception.NotificationException;
+import carsharingapp.model.Payment;
+import carsharingapp.model.StripeEvent;
+import carsharingapp.notification.NotificationService;
+import carsharingapp.payment.PaymentEvent;
+import carsharingapp.payment.PaymentGateway;
+import carsharingapp.repository.PaymentRepository;
+import carsharingapp.repository.StripeEventRepository;
+import carsharingapp.service.PaymentWebhookService;
+import carsharingapp.service.ReportService;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+    private static final Set<String> PAID_EVENT_TYPES = Set.of(
+            "checkout.session.completed",
+            "checkout.session.async_payment_succeeded");
+
+    private final PaymentGateway paymentGateway;
+    private final StripeEventRepository stripeEventRepository;
+    private final PaymentRepository paymentRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportService reportService;
+
+    @Value("${stripe.webhook.batch-size}")
+    private int batchSize;
+    @Value("${stripe.reconciliation.lookback}")
+    private Duration reconciliationLookback;
+
+    @Override
+    public void handleEvent(String payload, String signature) {
+        PaymentEvent event = paymentGateway.parseWebhookEvent(payload, signature);
+        if (!PAID_EVENT_TYPES.contains(event.type()) || !event.paid()) {
+            return;
+        }
+        StripeEvent stripeEvent = new StripeEvent();
+        stripeEvent.setId(event.id());
+        stripeEvent.setType(event.type());
+        stripeEvent.setSessionId(event.sessionId());
+        stripeEvent.setReceivedAt(LocalDateTime.now());
+        try {
+            stripeEventRepository.saveAndFlush(stripeEvent);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Stripe event {} was already received", event.id());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stripe.webhook.apply-interval}")
+    public void applyPendingEvents() {
+        boolean fullBatch = true;
+        while (fullBatch) {
+            Integer applied = transactionTemplate.execute(status -> applyBatch());
+            fullBatch = applied != null && applied == batchSize;
+        }
+    }
+
+    @Override
+    public void reconcile() {
+        List<String> paidSessionIds = paymentGateway.findPaidSessionIds(
+                Instant.now().minus(reconciliationLookback));
+        if (paidSessionIds.isEmpty()) {
+            return;
+        }
+        int updated = 0;
+        for (int from = 0; from < paidSessionIds.size(); from += batchSize) {
+            List<String> chunk = paidSessionIds.subList(from,
+                    Math.min(from + batchSize, paidSessionIds.size()));
+            Integer chunkUpdated = transactionTemplate.execute(status -> markPaid(chunk));
+            updated += chunkUpdated == null ? 0 : chunkUpdated;
+        }
+        if (updated > 0) {
+            log.info("Reconciled {} payments missed by the Stripe webhook", updated);
+        }
+    }
+
+    private int applyBatch() {
+        List<StripeEvent> events = stripeEventRepository
+                .findByProcessedFalseOrderByReceivedAtAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        markPaid(events.stream().map(StripeEvent::getSessionId).distinct().toList());
+        events.forEach(event -> event.setProcessed(true));
+        stripeEventRepository.saveAll(events);
+        return events.size();
+    }
+
+    private int markPaid(Collection<String> sessionIds) {
+        List<Payment> pending = paymentRepository
+                .findAllBySessionIdInAndStatus(sessionIds, Payment.Status.PENDING);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime paidAt = LocalDateTime.now();
+        Set<Long> claimed = paymentRepository.markPaid(pending.stream()
+                .map(Payment::getId)
+                .toList(), paidAt);
+        List<Payment> payments = pending.stream()
+                .filter(payment -> claimed.contains(payment.getId()))
+                .toList();
+        for (Payment payment : payments) {
+            payment.setStatus(Payment.Status.PAID);
+            payment.setPaidAt(paidAt);
+            try {
+                notificationService.sendPaymentSuccessNotification(payment);
+            } catch (NotificationException e) {
+                log.debug("Payment {} has no notification recipient", payment.getId());
+            }
+        }
+        reportService.recordPaymentsPaid(payments);
+        return payments.size();
+    }
+}
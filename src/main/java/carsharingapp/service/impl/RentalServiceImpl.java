@@ -1,9 +1,17 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.availability.CarAvailabilityIndex;
+import carsharingapp.dto.rental.BulkRentalReturnRequestDto;
+import carsharingapp.dto.rental.RentalPeriodDto;
 import carsharingapp.dto.rental.RentalRequestDto;
 import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.RentalReturnItemDto;
+import carsharingapp.dto.rental.RentalReturnReportDto;
+import carsharingapp.dto.rental.RentalReturnResultDto;
 import carsharingapp.dto.rental.RentalUpdateDto;
 import carsharingapp.exception.EntityNotFoundException;
+import carsharingapp.exception.InvalidSortException;
+import carsharingapp.exception.RentalPeriodException;
 import carsharingapp.mapper.RentalMapper;
 import carsharingapp.model.Car;
 import carsharingapp.model.Rental;
@@ -12,82 +20,304 @@ import carsharingapp.notification.NotificationService;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.repository.UserRepository;
+import carsharingapp.service.InventoryService;
 import carsharingapp.service.RentalService;
+import carsharingapp.service.ReportService;
+import carsharingapp.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class RentalServiceImpl implements RentalService {
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "rentalDate", "rentalDate",
+            "returnDate", "returnDate",
+            "actualReturnDate", "actualReturnDate",
+            "carId", "car.id",
+            "userId", "user.id");
+
     private final RentalRepository rentalRepository;
     private final RentalMapper rentalMapper;
     private final UserRepository userRepository;
     private final CarRepository carRepository;
     private final NotificationService notificationService;
+    private final InventoryService inventoryService;
+    private final MeterRegistry meterRegistry;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final ReportService reportService;
+
+    @Value("${rental.booking.max-days-ahead}")
+    private int maxDaysAhead;
 
     @Override
     public RentalResponseDto createRental(Authentication authentication,
                                           RentalRequestDto requestDto) {
-        Car car = carRepository.findById(requestDto.getCarId()).orElseThrow(
+        return meterRegistry.timer("rental.create")
+                .record(() -> doCreateRental(authentication, requestDto));
+    }
+
+    @Override
+    public Page<RentalResponseDto> getRentalsByUserId(Long userId, Boolean isActive,
+                                                      Pageable pageable) {
+        Pageable entityPageable = toEntitySort(pageable);
+        if (isActive == null) {
+            return rentalRepository.findRentalsByUserId(userId, entityPageable);
+        }
+        return isActive
+                ? rentalRepository.findActiveRentalsByUserId(userId, entityPageable)
+                : rentalRepository.findReturnedRentalsByUserId(userId, entityPageable);
+    }
+
+    @Override
+    public RentalResponseDto getSpecificRentalByUser_Id_And_Rental_Id(Long userId, Long rentalId) {
+        Rental rental = rentalRepository
+                .findByUser_IdAndId(userId, rentalId)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find rental by "
+                        + "user id " + userId + ", rental id " + rentalId));
+        return rentalMapper.toDto(rental);
+    }
+
+    @Override
+    public RentalResponseDto updateRentalReturnDate(Long rentalId, RentalUpdateDto updateDto) {
+        return meterRegistry.timer("rental.return")
+                .record(() -> doUpdateRentalReturnDate(rentalId, updateDto));
+    }
+
+    @Override
+    public RentalReturnReportDto returnRentals(BulkRentalReturnRequestDto requestDto) {
+        return meterRegistry.timer("rental.return.bulk")
+                .record(() -> doReturnRentals(requestDto.getReturns()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rental.activation.interval}")
+    public void activateDueRentals() {
+        // Rows are locked with SKIP LOCKED, so nodes running this concurrently claim
+        // disjoint bookings and each unit is reserved once.
+        List<Rental> activated = new ArrayList<>();
+        for (Rental rental : rentalRepository.findUnreservedRentalsStartingBy(LocalDate.now())) {
+            Long carId = rental.getCar().getId();
+            if (!inventoryService.reserve(carId)) {
+                // Flagged so the booking is reported once instead of on every run
+                meterRegistry.counter("rental.activation.failures").increment();
+                log.warn("No unit of car {} left for rental {} starting {}", carId,
+                        rental.getId(), rental.getRentalDate());
+                rental.setActivationFailed(true);
+                notificationService.sendRentalActivationFailedNotification(rental);
+                continue;
+            }
+            rental.setInventoryReserved(true);
+            activated.add(rental);
+            TransactionUtil.afterCommit(() -> carAvailabilityIndex.holdUnit(carId));
+        }
+        reportService.recordRentalsStarted(activated);
+    }
+
+    private RentalReturnReportDto doReturnRentals(List<RentalReturnItemDto> items) {
+        Set<Long> ids = items.stream()
+                .map(RentalReturnItemDto::getRentalId)
+                .collect(Collectors.toSet());
+        // Rentals are locked in id order before the already-returned check, so a concurrent
+        // return of the same rental waits, then sees it returned and releases nothing.
+        rentalRepository.findAllForUpdateByIdIn(ids);
+        Map<Long, Rental> rentals = rentalRepository.findAllWithUserAndCarByIdIn(ids).stream()
+                .collect(Collectors.toMap(Rental::getId, Function.identity()));
+        RentalReturnReportDto report = new RentalReturnReportDto().setTotal(items.size());
+        Set<Long> seen = new HashSet<>();
+        List<Rental> returned = new ArrayList<>();
+        Map<Long, Integer> releasedUnits = new TreeMap<>();
+        for (RentalReturnItemDto item : items) {
+            Rental rental = rentals.get(item.getRentalId());
+            RentalReturnResultDto result = new RentalReturnResultDto()
+                    .setRentalId(item.getRentalId());
+            report.getItems().add(result);
+            String error = validateReturn(item, rental, seen);
+            if (error != null) {
+                result.setStatus(RentalReturnResultDto.Status.REJECTED).setErrors(List.of(error));
+                continue;
+            }
+            rental.setActualReturnDate(item.getReturnDate());
+            if (rental.isInventoryReserved()) {
+                releasedUnits.merge(rental.getCar().getId(), 1, Integer::sum);
+            }
+            returned.add(rental);
+            result.setStatus(RentalReturnResultDto.Status.RETURNED);
+        }
+        if (!releasedUnits.isEmpty()) {
+            inventoryService.releaseAll(releasedUnits);
+        }
+        if (!returned.isEmpty()) {
+            notificationService.sendRentalReturnNotifications(returned);
+            reportService.recordRentalsReturned(returned);
+        }
+        TransactionUtil.afterCommit(() -> returned.forEach(rental -> {
+            Long carId = rental.getCar().getId();
+            if (rental.isInventoryReserved()) {
+                carAvailabilityIndex.releaseUnit(carId);
+            }
+            cancelBooking(carId, rental.getRentalDate(), rental.getReturnDate());
+        }));
+        return report.setReturned(returned.size()).setRejected(items.size() - returned.size());
+    }
+
+    private void cancelBooking(Long carId, LocalDate rentalDate, LocalDate returnDate) {
+        try {
+            carAvailabilityIndex.cancel(carId, rentalDate, returnDate);
+        } catch (IllegalArgumentException e) {
+            log.warn("Can't remove rental {} - {} of car {} from the availability index: {}",
+                    rentalDate, returnDate, carId, e.getMessage());
+        }
+    }
+
+    private String validateReturn(RentalReturnItemDto item, Rental rental, Set<Long> seen) {
+        if (!seen.add(item.getRentalId())) {
+            return "Duplicate rental id " + item.getRentalId();
+        }
+        if (rental == null) {
+            return "Can't find rental by id " + item.getRentalId();
+        }
+        if (rental.getActualReturnDate() != null) {
+            return "Rental has already been returned";
+        }
+        if (item.getReturnDate().isBefore(rental.getRentalDate())) {
+            return "Return date " + item.getReturnDate() + " is before rental date "
+                    + rental.getRentalDate();
+        }
+        return null;
+    }
+
+    private void validatePeriod(LocalDate rentalDate, LocalDate returnDate) {
+        LocalDate today = LocalDate.now();
+        if (rentalDate.isBefore(today)) {
+            throw new RentalPeriodException("Rental date " + rentalDate + " is in the past");
+        }
+        if (!returnDate.isAfter(rentalDate)) {
+            throw new RentalPeriodException("Return date " + returnDate
+                    + " must be after rental date " + rentalDate);
+        }
+        if (returnDate.isAfter(today.plusDays(maxDaysAhead))) {
+            throw new RentalPeriodException("Rentals can be booked at most " + maxDaysAhead
+                    + " days ahead");
+        }
+    }
+
+    private RentalResponseDto doCreateRental(Authentication authentication,
+                                             RentalRequestDto requestDto) {
+        LocalDate rentalDate = requestDto.getRentalDate();
+        LocalDate returnDate = requestDto.getReturnDate();
+        validatePeriod(rentalDate, returnDate);
+        Car car = carRepository.findByIdForUpdate(requestDto.getCarId()).orElseThrow(
                 () -> new EntityNotFoundException("Car with id "
                         + requestDto.getCarId() + " not found")
         );
-        if (car.getInventory() <= 0) {
-            throw new IllegalStateException("Car with id " + car.getId() + " is not available");
+        Long carId = car.getId();
+        int inventory = car.getInventory();
+        if (carAvailabilityIndex.tryBook(carId, inventory, rentalDate, returnDate)) {
+            // The index only knows this node's bookings; the car row lock serializes the
+            // authoritative check across nodes.
+            if (!CarAvailabilityIndex.hasFreeUnit(rentalRepository.findOpenRentalPeriodsByCarId(
+                    carId, rentalDate, returnDate), inventory, rentalDate, returnDate)) {
+                carAvailabilityIndex.cancel(carId, rentalDate, returnDate);
+                throw new IllegalStateException("Car with id " + carId + " is not available");
+            }
+        } else {
+            // A return or cancellation on another node may be missing here, so the index
+            // is rebuilt for this car and only the database turns the booking down.
+            List<RentalPeriodDto> openRentals = rentalRepository
+                    .findAllOpenRentalPeriodsByCarId(carId);
+            carAvailabilityIndex.resync(carId, openRentals);
+            if (!CarAvailabilityIndex.hasFreeUnit(openRentals, inventory, rentalDate,
+                    returnDate)) {
+                throw new IllegalStateException("Car with id " + carId + " is not available");
+            }
+            carAvailabilityIndex.book(carId, rentalDate, returnDate);
+        }
+        boolean startsToday = !rentalDate.isAfter(LocalDate.now());
+        if (startsToday && !inventoryService.reserve(carId)) {
+            carAvailabilityIndex.cancel(carId, rentalDate, returnDate);
+            throw new IllegalStateException("Car with id " + carId + " is not available");
+        }
+        TransactionUtil.afterRollback(() -> carAvailabilityIndex.cancel(carId, rentalDate,
+                returnDate));
+        if (startsToday) {
+            TransactionUtil.afterCommit(() -> carAvailabilityIndex.holdUnit(carId));
         }
         Rental rental = new Rental();
         User user = userRepository.findByEmail(authentication.getName()).orElseThrow(
                 () -> new EntityNotFoundException("User with email "
                         + authentication.getName() + " not found")
         );
-        rental.setRentalDate(LocalDate.now());
-        rental.setReturnDate(LocalDate.now().plusWeeks(1));
+        rental.setRentalDate(rentalDate);
+        rental.setReturnDate(returnDate);
         rental.setActualReturnDate(null);
+        rental.setInventoryReserved(startsToday);
         rental.setUser(user);
         rental.setCar(car);
-        car.setInventory(car.getInventory() - 1);
-        carRepository.save(car);
         Rental saved = rentalRepository.save(rental);
+        if (startsToday) {
+            reportService.recordRentalsStarted(List.of(saved));
+        }
         notificationService.sendRentalCreationNotification(saved);
         return rentalMapper.toDto(rental);
     }
 
-    public List<RentalResponseDto> getRentalsByUserId(Long userId, Boolean isActive) {
-        return rentalRepository.getRentalsByUser_Id(userId).stream()
-                .filter(rental -> isActive == null
-                        || (isActive && rental.getActualReturnDate() == null)
-                        || (!isActive && rental.getActualReturnDate() != null))
-                .map(rentalMapper::toDto)
-                .toList();
-    }
-
-    @Override
-    public RentalResponseDto getSpecificRentalByUser_Id_And_Rental_Id(Long userId, Long rentalId) {
-        Rental rental = rentalRepository
-                .findByUser_IdAndId(userId, rentalId)
-                .orElseThrow(() -> new EntityNotFoundException("Can't find rental by "
-                        + "user id " + userId + ", rental id " + rentalId));
-        return rentalMapper.toDto(rental);
-    }
-
-    @Override
-    public RentalResponseDto updateRentalReturnDate(Long rentalId, RentalUpdateDto updateDto) {
-        Rental rental = rentalRepository.findById(rentalId)
+    private RentalResponseDto doUpdateRentalReturnDate(Long rentalId,
+                                                       RentalUpdateDto updateDto) {
+        Rental rental = rentalRepository.findByIdForUpdate(rentalId)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find rental by id "
                         + rentalId));
         if (rental.getActualReturnDate() != null) {
             throw new IllegalStateException("Rental has already been returned");
         }
         rental.setActualReturnDate(updateDto.getReturnDate());
-        Car car = rental.getCar();
-        car.setInventory(car.getInventory() + 1);
-        carRepository.save(car);
+        Long carId = rental.getCar().getId();
+        if (rental.isInventoryReserved()) {
+            inventoryService.release(carId);
+            TransactionUtil.afterCommit(() -> carAvailabilityIndex.releaseUnit(carId));
+        }
+        TransactionUtil.afterCommit(() -> cancelBooking(carId, rental.getRentalDate(),
+                rental.getReturnDate()));
+        reportService.recordRentalsReturned(List.of(rental));
         notificationService.sendRentalReturnNotification(rental);
         return rentalMapper.toDto(rental);
     }
+
+    private Pageable toEntitySort(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            String path = SORT_PROPERTIES.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortException("Can't sort rentals by " + order.getProperty()
+                        + ", allowed properties: " + SORT_PROPERTIES.keySet());
+            }
+            orders.add(order.withProperty(path));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
 }
@@ -0,0 +1,205 @@
+package carsharingapp.service.impl;
+
+import carsharingapp.dto.report.CarTypeStatsDto;
+import carsharingapp.dto.report.DailyCarTypeStatsDto;
+import carsharingapp.model.Car;
+import carsharingapp.model.DailyCarTypeStats;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import carsharingapp.model.SweepCheckpoint;
+import carsharingapp.repository.DailyCarTypeStatsRepository;
+import carsharingapp.repository.SweepCheckpointRepository;
+import carsharingapp.service.ReportService;
+import carsharingapp.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class ReportServiceImpl implements ReportService {
+    private static final String CATCH_UP_JOB = "report-catch-up";
+
+    private final DailyCarTypeStatsRepository statsRepository;
+    private final SweepCheckpointRepository checkpointRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${report.catch-up.lookback-days}")
+    private int lookbackDays;
+
+    public ReportServiceImpl(DailyCarTypeStatsRepository statsRepository,
+                             SweepCheckpointRepository checkpointRepository,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordRentalsStarted(Collection<Rental> rentals) {
+        Map<DailyCarTypeStats.Key, DailyCarTypeStats> deltas = new LinkedHashMap<>();
+        for (Rental rental : rentals) {
+            addTo(deltas, rental.getRentalDate(), rental.getCar().getType(),
+                    delta -> delta.setRentalsStarted(delta.getRentalsStarted() + 1));
+        }
+        applyAfterCommit(deltas.values());
+    }
+
+    @Override
+    public void recordRentalsReturned(Collection<Rental> rentals) {
+        Map<DailyCarTypeStats.Key, DailyCarTypeStats> deltas = new LinkedHashMap<>();
+        for (Rental rental : rentals) {
+            addTo(deltas, rental.getActualReturnDate(), rental.getCar().getType(),
+                    delta -> delta.setRentalsReturned(delta.getRentalsReturned() + 1));
+        }
+        applyAfterCommit(deltas.values());
+    }
+
+    @Override
+    public void recordPaymentsPaid(Collection<Payment> payments) {
+        Map<DailyCarTypeStats.Key, DailyCarTypeStats> deltas = new LinkedHashMap<>();
+        for (Payment payment : payments) {
+            if (payment.getAmountToPay() == null) {
+                continue;
+            }
+            BigDecimal amount = payment.getAmountToPay();
+            addTo(deltas, payment.getPaidAt().toLocalDate(),
+                    payment.getRental().getCar().getType(), delta -> {
+                        if (payment.getType() == Payment.Type.FINE) {
+                            delta.setFineRevenue(delta.getFineRevenue().add(amount));
+                        } else {
+                            delta.setPaymentRevenue(delta.getPaymentRevenue().add(amount));
+                        }
+                    });
+        }
+        applyAfterCommit(deltas.values());
+    }
+
+    @Override
+    public List<DailyCarTypeStatsDto> getDailyStats(LocalDate from, LocalDate to,
+                                                    Car.Type carType) {
+        return statsRepository.findDailyStats(from, to, carType);
+    }
+
+    @Override
+    public List<CarTypeStatsDto> getCarTypeTotals(LocalDate from, LocalDate to) {
+        return statsRepository.findCarTypeTotals(from, to);
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate last = to.isAfter(today) ? today : to;
+        Map<Car.Type, Integer> fleet = statsRepository.countFleet();
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(last); day = day.plusDays(1)) {
+            LocalDate statDate = day;
+            meterRegistry.timer("report.rebuild.day").record(() -> transactionTemplate
+                    .executeWithoutResult(status -> {
+                        List<DailyCarTypeStats> rows = statsRepository.aggregateDay(statDate);
+                        rows.forEach(row -> row.setFleetSize(
+                                fleet.getOrDefault(row.getCarType(), 0)));
+                        statsRepository.replaceDay(statDate, rows);
+                    }));
+            days++;
+        }
+        return days;
+    }
+
+    @Override
+    @Scheduled(cron = "${report.catch-up.cron}")
+    public void catchUp() {
+        LocalDate today = LocalDate.now();
+        if (!claimCatchUp(today)) {
+            log.debug("Daily car type stats catch-up for {} already claimed by another node",
+                    today);
+            return;
+        }
+        LocalDate yesterday = today.minusDays(1);
+        int days = rebuild(yesterday.minusDays(lookbackDays - 1L), yesterday);
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository
+                .findById(CATCH_UP_JOB)
+                .ifPresent(checkpoint -> checkpoint.setCompleted(true)));
+        log.info("Rebuilt daily car type stats for the last {} days", days);
+    }
+
+    /**
+     * Every node runs the cron, so only the one that moves the job's checkpoint to today
+     * rebuilds; concurrent replaceDay calls would otherwise collide on the unique key.
+     */
+    private boolean claimCatchUp(LocalDate runDate) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (checkpointRepository.claimRun(CATCH_UP_JOB, runDate) == 1) {
+                    return true;
+                }
+                if (checkpointRepository.existsById(CATCH_UP_JOB)) {
+                    return false;
+                }
+                SweepCheckpoint checkpoint = new SweepCheckpoint();
+                checkpoint.setJobName(CATCH_UP_JOB);
+                checkpoint.setRunDate(runDate);
+                checkpoint.setLastProcessedId(0L);
+                checkpointRepository.saveAndFlush(checkpoint);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void addTo(Map<DailyCarTypeStats.Key, DailyCarTypeStats> deltas, LocalDate day,
+                       Car.Type carType, Consumer<DailyCarTypeStats> change) {
+        change.accept(deltas.computeIfAbsent(new DailyCarTypeStats.Key(day, carType),
+                key -> new DailyCarTypeStats(day, carType)));
+    }
+
+    private void applyAfterCommit(Collection<DailyCarTypeStats> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<DailyCarTypeStats> pending = List.copyOf(deltas);
+        TransactionUtil.afterCommit(() -> {
+            try {
+                apply(pending);
+            } catch (RuntimeException e) {
+                meterRegistry.counter("report.stats.failures").increment();
+                log.warn("Failed to update daily car type stats, the nightly catch-up will "
+                        + "correct them: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void apply(List<DailyCarTypeStats> deltas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> incrementOrInsert(deltas));
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> incrementOrInsert(deltas));
+        }
+    }
+
+    private void incrementOrInsert(List<DailyCarTypeStats> deltas) {
+        List<DailyCarTypeStats> missing = statsRepository.incrementAll(deltas);
+        if (!missing.isEmpty()) {
+            statsRepository.insertAll(missing);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package carsharingapp.service.impl;
 
+import carsharingapp.dto.user.TelegramLinkResponseDto;
 import carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import carsharingapp.dto.user.UserRegistrationRequestDto;
@@ -9,12 +10,23 @@ import carsharingapp.exception.RegistrationException;
 import carsharingapp.mapper.UserMapper;
 import carsharingapp.model.Role;
 import carsharingapp.model.User;
+import carsharingapp.notification.TelegramChatIdCache;
 import carsharingapp.repository.RoleRepository;
 import carsharingapp.repository.UserRepository;
+import carsharingapp.security.AuthenticationCache;
 import carsharingapp.service.UserService;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,10 +34,33 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements UserService {
+    private static final String TELEGRAM_LINK_TEMPLATE = "https://t.me/%s?start=%s";
+    private static final int LINK_TOKEN_BYTES = 24;
+    private static final String TELEGRAM_UPDATES_DISABLED = "disabled";
+
+    private final SecureRandom secureRandom = new SecureRandom();
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final AuthenticationCache authenticationCache;
+    private final TelegramChatIdCache telegramChatIdCache;
+
+    @Value("${telegram.bot.username}")
+    private String botUsername;
+    @Value("${telegram.updates.mode}")
+    private String updatesMode;
+    @Value("${telegram.link-token.ttl}")
+    private Duration linkTokenTtl;
+
+    @PostConstruct
+    void validate() {
+        if (!TELEGRAM_UPDATES_DISABLED.equals(updatesMode)
+                && (botUsername == null || botUsername.isBlank())) {
+            throw new IllegalStateException("telegram.bot.username must be set unless "
+                    + "telegram.updates.mode=" + TELEGRAM_UPDATES_DISABLED);
+        }
+    }
 
     @Override
     public UserResponseDto register(UserRegistrationRequestDto request)
@@ -47,8 +82,12 @@ public class UserServiceImpl implements UserService {
     public UserResponseDto updateUserRole(Long id, UpdateUserRoleRequestDto requestDto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find user by id " + id));
-        userMapper.updateUserFromDto(requestDto, user);
+        Role role = roleRepository.findByRoleName(requestDto.getRole())
+                .orElseThrow(() -> new EntityNotFoundException("Role "
+                        + requestDto.getRole() + " not found"));
+        user.setRoles(new HashSet<>(Set.of(role)));
         userRepository.save(user);
+        authenticationCache.evictUser(user.getId());
         return userMapper.toDto(user);
     }
 
@@ -65,8 +104,56 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(name)
                 .orElseThrow(() ->
                         new EntityNotFoundException("Can't find user by email: " + name));
+        final String previousChatId = user.getTgChatId();
         userMapper.updateUserFromDto(requestDto, user);
         userRepository.save(user);
+        authenticationCache.evictUser(user.getId());
+        if (!Objects.equals(previousChatId, user.getTgChatId())) {
+            telegramChatIdCache.put(user.getId(), user.getTgChatId());
+        }
         return userMapper.toDto(user);
     }
+
+    @Override
+    public TelegramLinkResponseDto createTelegramLink(String name) {
+        User user = userRepository.findByEmail(name)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Can't find user by email: " + name));
+        byte[] tokenBytes = new byte[LINK_TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String linkToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        user.setTgLinkToken(linkToken);
+        user.setTgLinkTokenIssuedAt(LocalDateTime.now());
+        userRepository.save(user);
+        return new TelegramLinkResponseDto(
+                String.format(TELEGRAM_LINK_TEMPLATE, botUsername, linkToken));
+    }
+
+    @Override
+    public boolean linkTelegramChat(String linkToken, String chatId) {
+        Optional<User> found = userRepository.findByTgLinkToken(linkToken);
+        if (found.isEmpty()) {
+            return false;
+        }
+        User user = found.get();
+        if (user.getTgLinkTokenIssuedAt() == null || user.getTgLinkTokenIssuedAt()
+                .plus(linkTokenTtl).isBefore(LocalDateTime.now())) {
+            clearLinkToken(user);
+            return false;
+        }
+        // A chat receives one account's notifications; it has to be unlinked there first
+        if (userRepository.existsByTgChatIdAndIdNot(chatId, user.getId())) {
+            return false;
+        }
+        user.setTgChatId(chatId);
+        clearLinkToken(user);
+        telegramChatIdCache.put(user.getId(), chatId);
+        return true;
+    }
+
+    private void clearLinkToken(User user) {
+        user.setTgLinkToken(null);
+        user.setTgLinkTokenIssuedAt(null);
+        userRepository.save(user);
+    }
 }
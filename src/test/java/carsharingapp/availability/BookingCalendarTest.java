@@ -0,0 +1,57 @@
+package carsharingapp.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookingCalendarTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 10);
+
+    @Test
+    @DisplayName("Overlapping bookings - busiest day counted once per booking")
+    void maxBookings_OverlappingPeriods_CountsBusiestDay() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.add(DAY, DAY.plusDays(5), 1);
+        calendar.add(DAY.plusDays(3), DAY.plusDays(8), 1);
+        calendar.add(DAY.plusDays(4), DAY.plusDays(6), 1);
+
+        assertEquals(3, calendar.maxBookings(DAY, DAY.plusDays(10)));
+        assertEquals(1, calendar.maxBookings(DAY, DAY.plusDays(3)));
+        assertEquals(2, calendar.maxBookings(DAY.plusDays(5), DAY.plusDays(7)));
+        assertEquals(0, calendar.maxBookings(DAY.plusDays(8), DAY.plusDays(20)));
+    }
+
+    @Test
+    @DisplayName("Booking ending on a day - that day is free again")
+    void maxBookings_BackToBackPeriods_DoNotOverlap() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.add(DAY, DAY.plusDays(4), 1);
+
+        assertEquals(0, calendar.maxBookings(DAY.plusDays(4), DAY.plusDays(6)));
+        assertEquals(1, calendar.maxBookings(DAY.minusDays(2), DAY.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Cancel booking - days are free again")
+    void add_NegativeDelta_CancelsBooking() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.add(DAY, DAY.plusDays(4), 1);
+        calendar.add(DAY.plusDays(2), DAY.plusDays(6), 1);
+
+        calendar.add(DAY, DAY.plusDays(4), -1);
+
+        assertEquals(0, calendar.maxBookings(DAY, DAY.plusDays(2)));
+        assertEquals(1, calendar.maxBookings(DAY, DAY.plusDays(10)));
+    }
+
+    @Test
+    @DisplayName("Empty period - throws IllegalArgumentException")
+    void add_EmptyPeriod_ThrowsIllegalArgumentException() {
+        BookingCalendar calendar = new BookingCalendar();
+
+        assertThrows(IllegalArgumentException.class, () -> calendar.add(DAY, DAY, 1));
+    }
+}
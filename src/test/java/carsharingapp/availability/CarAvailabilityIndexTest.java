@@ -0,0 +1,56 @@
+package carsharingapp.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import carsharingapp.dto.rental.RentalPeriodDto;
+import carsharingapp.repository.RentalRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CarAvailabilityIndexTest {
+    private static final Long CAR_ID = 1L;
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 10);
+
+    private final CarAvailabilityIndex index = new CarAvailabilityIndex(
+            mock(RentalRepository.class));
+
+    @Test
+    @DisplayName("Resync after a return elsewhere - the freed period can be booked again")
+    void resync_BookingCancelledElsewhere_PeriodFreeAgain() {
+        assertTrue(index.tryBook(CAR_ID, 1, DAY, DAY.plusDays(3)));
+        assertFalse(index.tryBook(CAR_ID, 1, DAY, DAY.plusDays(3)));
+
+        index.resync(CAR_ID, List.of());
+
+        assertTrue(index.tryBook(CAR_ID, 1, DAY, DAY.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Resync - held units and booked days come from the given rentals only")
+    void resync_OpenRentals_ReplacesBookingsAndHeldUnits() {
+        index.holdUnit(CAR_ID);
+        index.holdUnit(CAR_ID);
+        index.tryBook(CAR_ID, 0, DAY.plusDays(5), DAY.plusDays(6));
+
+        index.resync(CAR_ID, List.of(
+                new RentalPeriodDto(CAR_ID, DAY.minusDays(1), DAY.plusDays(2), true)));
+
+        assertEquals(0, index.freeUnits(CAR_ID, 0, DAY, DAY.plusDays(1)));
+        assertEquals(1, index.freeUnits(CAR_ID, 0, DAY.plusDays(5), DAY.plusDays(6)));
+    }
+
+    @Test
+    @DisplayName("Book - added even when this node believes the car is full")
+    void book_FullCar_AddsConfirmedBooking() {
+        index.tryBook(CAR_ID, 1, DAY, DAY.plusDays(3));
+
+        index.book(CAR_ID, DAY, DAY.plusDays(3));
+
+        assertEquals(0, index.freeUnits(CAR_ID, 2, DAY, DAY.plusDays(1)));
+    }
+}
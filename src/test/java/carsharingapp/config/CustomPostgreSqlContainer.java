@@ -0,0 +1,23 @@
+package carsharingapp.config;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public class CustomPostgreSqlContainer extends PostgreSQLContainer<CustomPostgreSqlContainer> {
+    private static final String DB_IMAGE = "postgres:16";
+    private static CustomPostgreSqlContainer postgresContainer;
+
+    private CustomPostgreSqlContainer() {
+        super(DB_IMAGE);
+    }
+
+    public static synchronized CustomPostgreSqlContainer getInstance() {
+        if (postgresContainer == null) {
+            postgresContainer = new CustomPostgreSqlContainer();
+        }
+        return postgresContainer;
+    }
+
+    @Override
+    public void stop() {
+    }
+}
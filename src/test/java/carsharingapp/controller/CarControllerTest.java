@@ -5,20 +5,30 @@ import static carsharingapp.util.TestUtil.createCarRequestDto;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
 
+import carsharingapp.cache.CarCatalogCache;
 import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.car.CarImportReportDto;
+import carsharingapp.dto.car.CarImportRowResultDto;
+import carsharingapp.dto.car.CarSearchResultDto;
 import carsharingapp.dto.car.CreateCarRequestDto;
 import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +38,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.context.WebApplicationContext;
 
 @Sql(scripts = {"classpath:database/add-cars-to-cars-table.sql"},
@@ -42,6 +53,10 @@ public class CarControllerTest {
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private CarCatalogCache carCatalogCache;
 
     @BeforeAll
     static void beforeAll(@Autowired WebApplicationContext context) {
@@ -50,6 +65,11 @@ public class CarControllerTest {
                 .build();
     }
 
+    @BeforeEach
+    void setUp() {
+        carCatalogCache.evictAll();
+    }
+
     @Test
     @WithMockUser(username = "admin@example.com", roles = "MANAGER")
     @DisplayName("Create car - success")
@@ -66,7 +86,7 @@ public class CarControllerTest {
         CarDto actualDto = objectMapper.readValue(result
                 .getResponse().getContentAsString(), CarDto.class);
         assertNotNull(actualDto.getId());
-        assertEquals(expectedDto, actualDto);
+        assertEquals(expectedDto.setId(actualDto.getId()), actualDto);
     }
 
     @Test
@@ -152,4 +172,200 @@ public class CarControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Import cars from JSON lines - valid rows created, invalid rows reported")
+    void importCars_JsonLines_ReportsEveryRow() throws Exception {
+        String payload = """
+                {"model":"Golf","brand":"Volkswagen","type":"HATCHBACK","inventory":3,\
+                "dailyFee":60.00}
+                {"model":"","brand":"Kia","type":"SUV","inventory":2,"dailyFee":90.00}
+                {"model":"Octavia","brand":"Skoda","type":"UNIVERSAL","inventory":4,\
+                "dailyFee":70.00}
+                """;
+        MvcResult result = mockMvc.perform(post("/cars/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andReturn();
+        CarImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), CarImportReportDto.class);
+        assertEquals(3, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getRejected());
+        assertEquals(List.of(CarImportRowResultDto.Status.CREATED,
+                        CarImportRowResultDto.Status.REJECTED,
+                        CarImportRowResultDto.Status.CREATED),
+                report.getRows().stream().map(CarImportRowResultDto::getStatus).toList());
+        assertEquals(List.of("model must not be blank"), report.getRows().get(1).getErrors());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Import cars from CSV - valid rows created, unparsable rows rejected")
+    void importCars_Csv_ReportsEveryRow() throws Exception {
+        String payload = """
+                brand,model,type,inventory,dailyFee
+                Volkswagen,Golf,HATCHBACK,3,60.00
+                Kia,Sportage,TRUCK,2,90.00
+                """;
+        MvcResult result = mockMvc.perform(post("/cars/import")
+                        .contentType("text/csv")
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andReturn();
+        CarImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), CarImportReportDto.class);
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getRejected());
+        assertEquals(3L, report.getRows().get(1).getRow());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Import cars from CSV with quoted commas - rows keyed by line number")
+    void importCars_CsvQuotedFields_ReportsLineNumbers() throws Exception {
+        String payload = """
+                brand,model,type,inventory,dailyFee
+                "Mercedes-Benz, AG",C-Class,SEDAN,2,120.00
+
+                Kia,Sportage,TRUCK,2,90.00
+                Kia,Ceed,HATCHBACK,two,50.00
+                """;
+        MvcResult result = mockMvc.perform(post("/cars/import")
+                        .contentType("text/csv")
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andReturn();
+        CarImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), CarImportReportDto.class);
+        assertEquals(1, report.getCreated());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2L, 4L, 5L),
+                report.getRows().stream().map(CarImportRowResultDto::getRow).toList());
+        assertEquals("Mercedes-Benz, AG", carRepository
+                .findById(report.getRows().get(0).getCarId()).orElseThrow().getBrand());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Import cars from CSV with unknown column - bad request")
+    void importCars_CsvUnknownColumn_BadRequest() throws Exception {
+        mockMvc.perform(post("/cars/import")
+                        .contentType("text/csv")
+                        .content("brand,model,type,inventory,dailyFee,color\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Export cars as JSON lines - every car streamed")
+    void exportCars_JsonLines_StreamsFleet() throws Exception {
+        MvcResult started = mockMvc.perform(get("/cars/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        String[] lines = result.getResponse().getContentAsString().strip().split("\n");
+        assertEquals(1, lines.length);
+        CarDto actualDto = objectMapper.readValue(lines[0], CarDto.class);
+        assertEquals(createCarDto(VALID_CAR_ID, "Toyota Corolla", 5, new BigDecimal("80.00")),
+                actualDto);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Export cars as CSV - header and rows streamed")
+    void exportCars_Csv_StreamsFleet() throws Exception {
+        MvcResult started = mockMvc.perform(get("/cars/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        String[] lines = result.getResponse().getContentAsString().strip().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,model,brand,type,inventory,dailyFee", lines[0]);
+    }
+
+    @Test
+    @Sql(scripts = {"classpath:database/add-cars-to-cars-table.sql",
+            "classpath:database/add-search-cars-to-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/delete-cars-from-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Search cars by type in stock - only matching cars ordered by fee")
+    void searchCars_TypeInStock_FiltersAndOrdersByFee() throws Exception {
+        CarSearchResultDto actual = search(get("/cars/search")
+                .param("type", "SEDAN")
+                .param("inStock", "true"));
+
+        assertEquals(List.of(101L, VALID_CAR_ID), ids(actual));
+        assertNull(actual.getNextAfterId());
+    }
+
+    @Test
+    @Sql(scripts = {"classpath:database/add-cars-to-cars-table.sql",
+            "classpath:database/add-search-cars-to-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/delete-cars-from-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Search cars by fee range - bounds are inclusive")
+    void searchCars_FeeRange_InclusiveBounds() throws Exception {
+        CarSearchResultDto actual = search(get("/cars/search")
+                .param("minFee", "80")
+                .param("maxFee", "90"));
+
+        assertEquals(List.of(VALID_CAR_ID, 105L, 104L), ids(actual));
+    }
+
+    @Test
+    @Sql(scripts = {"classpath:database/add-cars-to-cars-table.sql",
+            "classpath:database/add-search-cars-to-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/delete-cars-from-cars-table.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Search cars page by page - cursor continues after ties on fee")
+    void searchCars_KeysetPaging_ContinuesFromCursor() throws Exception {
+        CarSearchResultDto firstPage = search(get("/cars/search")
+                .param("brand", "Toyota")
+                .param("size", "2"));
+        CarSearchResultDto secondPage = search(get("/cars/search")
+                .param("brand", "Toyota")
+                .param("size", "2")
+                .param("afterFee", firstPage.getNextAfterFee().toPlainString())
+                .param("afterId", firstPage.getNextAfterId().toString()));
+
+        assertEquals(List.of(101L, VALID_CAR_ID), ids(firstPage));
+        assertEquals(VALID_CAR_ID, firstPage.getNextAfterId());
+        assertEquals(List.of(105L, 104L), ids(secondPage));
+        assertNull(secondPage.getNextAfterFee());
+        assertNull(secondPage.getNextAfterId());
+    }
+
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Search cars with half a cursor - bad request")
+    void searchCars_IncompleteCursor_BadRequest() throws Exception {
+        mockMvc.perform(get("/cars/search").param("afterFee", "80"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CarSearchResultDto search(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                CarSearchResultDto.class);
+    }
+
+    private List<Long> ids(CarSearchResultDto result) {
+        return result.getCars().stream().map(CarDto::getId).toList();
+    }
 }
@@ -0,0 +1,123 @@
+package carsharingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import carsharingapp.dto.payment.PaymentExportDto;
+import carsharingapp.model.Payment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+
+@Sql(scripts = {
+        "classpath:database/add-users-to-users-table.sql",
+        "classpath:database/add-cars-to-cars-table.sql",
+        "classpath:database/add-rentals-to-rentals-table.sql",
+        "classpath:database/add-payments-to-payments-table.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/delete-payments-from-payments-table.sql",
+        "classpath:database/delete-rentals-from-rentals-table.sql",
+        "classpath:database/delete-cars-from-cars-table.sql",
+        "classpath:database/delete-users-from-users-table.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PaymentControllerTest {
+    protected static MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext context) {
+        mockMvc = webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Export payments as JSON lines - all payments ordered by id")
+    void exportPayments_JsonLines_StreamsAllPayments() throws Exception {
+        String body = export(get("/payments/export").accept(MediaType.APPLICATION_NDJSON));
+
+        List<PaymentExportDto> actual = new ArrayList<>();
+        for (String line : body.strip().split("\n")) {
+            actual.add(objectMapper.readValue(line, PaymentExportDto.class));
+        }
+        assertEquals(List.of(
+                new PaymentExportDto(7L, Payment.Type.PAYMENT, Payment.Status.PENDING,
+                        new BigDecimal("560.00"), "cs_test_7",
+                        LocalDateTime.of(2025, 7, 15, 10, 0)),
+                new PaymentExportDto(8L, Payment.Type.PAYMENT, Payment.Status.PAID,
+                        new BigDecimal("480.00"), "cs_test_8",
+                        LocalDateTime.of(2025, 7, 8, 12, 0))), actual);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Export payments as CSV with filters - only matching rows after the cursor")
+    void exportPayments_CsvWithFilters_StreamsMatchingRows() throws Exception {
+        String paid = export(get("/payments/export").accept("text/csv")
+                .param("status", "PAID"));
+        String inJuly = export(get("/payments/export").accept("text/csv")
+                .param("from", "2025-07-10")
+                .param("to", "2025-07-15"));
+        String resumed = export(get("/payments/export").accept("text/csv")
+                .param("afterId", "7"));
+
+        assertEquals(List.of("id,type,status,amountToPay,sessionId,createdAt",
+                "8,PAYMENT,PAID,480.00,cs_test_8,2025-07-08T12:00:00"), lines(paid));
+        assertEquals(List.of("7"), ids(inJuly));
+        assertEquals(List.of("8"), ids(resumed));
+    }
+
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Export payments - forbidden for CUSTOMER")
+    void exportPayments_ForbiddenForCustomer() throws Exception {
+        mockMvc.perform(get("/payments/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isForbidden());
+    }
+
+    private String export(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private List<String> lines(String csv) {
+        return List.of(csv.strip().split("\n"));
+    }
+
+    private List<String> ids(String csv) {
+        return lines(csv).stream()
+                .skip(1)
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList();
+    }
+}
@@ -4,21 +4,40 @@ import static carsharingapp.util.TestUtil.createRental;
 import static carsharingapp.util.TestUtil.createRentalResponseDto;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
 
+import carsharingapp.availability.CarAvailabilityIndex;
+import carsharingapp.dto.car.CarDto;
+import carsharingapp.dto.rental.BulkRentalReturnRequestDto;
 import carsharingapp.dto.rental.RentalRequestDto;
 import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.RentalReturnItemDto;
+import carsharingapp.dto.rental.RentalReturnReportDto;
+import carsharingapp.dto.rental.RentalReturnResultDto;
 import carsharingapp.model.Rental;
 import carsharingapp.notification.NotificationService;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.repository.RentalRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,6 +72,12 @@ public class RentalControllerTest {
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private RentalRepository rentalRepository;
 
     @BeforeAll
     static void beforeAll(@Autowired WebApplicationContext context) {
@@ -61,6 +86,11 @@ public class RentalControllerTest {
                 .build();
     }
 
+    @BeforeEach
+    void setUp() {
+        carAvailabilityIndex.rebuild();
+    }
+
     @Test
     @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
     @DisplayName("Add new rental - success")
@@ -126,7 +156,8 @@ public class RentalControllerTest {
                 .andReturn();
 
         List<RentalResponseDto> actualRentals = objectMapper.readValue(
-                result.getResponse().getContentAsString(),
+                objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("content").toString(),
                 objectMapper.getTypeFactory()
                         .constructCollectionType(List.class, RentalResponseDto.class)
         );
@@ -136,6 +167,30 @@ public class RentalControllerTest {
         assertEquals(expectedDto, actualRentals.get(0));
     }
 
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Get rentals sorted by a DTO-only property - mapped to the entity path")
+    void getRentalsByUserId_SortByCarId_Success() throws Exception {
+        mockMvc.perform(
+                        get("/rentals")
+                                .param("userId", String.valueOf(VALID_USER_ID))
+                                .param("sort", "carId,desc")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Get rentals sorted by an unknown property - bad request")
+    void getRentalsByUserId_UnknownSortProperty_BadRequest() throws Exception {
+        mockMvc.perform(
+                        get("/rentals")
+                                .param("userId", String.valueOf(VALID_USER_ID))
+                                .param("sort", "user.password")
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
     @DisplayName("Get specific rental by valid user and rental ID - success")
@@ -168,4 +223,127 @@ public class RentalControllerTest {
         // Assert
         assertEquals(expectedDto, actualDto);
     }
+
+    @Test
+    @Sql(scripts = {
+            "classpath:database/add-users-to-users-table.sql",
+            "classpath:database/add-cars-to-cars-table.sql",
+            "classpath:database/add-search-cars-to-cars-table.sql",
+            "classpath:database/add-rentals-to-rentals-table.sql"
+    }, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {
+            "classpath:database/delete-rentals-from-rentals-table.sql",
+            "classpath:database/delete-cars-from-cars-table.sql",
+            "classpath:database/delete-users-from-users-table.sql"
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Book last unit for a future period - car unavailable only for that period")
+    void addRental_FuturePeriod_BlocksOnlyOverlappingDays() throws Exception {
+        Long lastUnitCarId = 103L;
+        LocalDate rentalDate = LocalDate.now().plusDays(10);
+        RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(lastUnitCarId)
+                .setRentalDate(rentalDate)
+                .setReturnDate(rentalDate.plusDays(4));
+        mockMvc.perform(post("/rentals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isCreated());
+
+        List<Long> overlapping = availableCarIds(rentalDate.plusDays(2), rentalDate.plusDays(3));
+        List<Long> afterReturn = availableCarIds(rentalDate.plusDays(4), rentalDate.plusDays(6));
+
+        assertFalse(overlapping.contains(lastUnitCarId));
+        assertTrue(overlapping.contains(VALID_CAR_ID));
+        assertTrue(afterReturn.contains(lastUnitCarId));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Return rentals in bulk - open rental returned, others reported")
+    void returnRentals_MixedItems_ReportsEveryItem() throws Exception {
+        LocalDate today = LocalDate.now();
+        BulkRentalReturnRequestDto requestDto = new BulkRentalReturnRequestDto().setReturns(List.of(
+                new RentalReturnItemDto().setRentalId(VALID_RENTAL_ID).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(8L).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(999L).setReturnDate(today)));
+
+        MvcResult result = mockMvc.perform(put("/rentals/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andReturn();
+        RentalReturnReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), RentalReturnReportDto.class);
+
+        assertEquals(1, report.getReturned());
+        assertEquals(2, report.getRejected());
+        assertEquals(RentalReturnResultDto.Status.RETURNED, report.getItems().get(0).getStatus());
+        assertEquals(List.of("Rental has already been returned"),
+                report.getItems().get(1).getErrors());
+        assertEquals(today, rentalRepository.findById(VALID_RENTAL_ID).orElseThrow()
+                .getActualReturnDate());
+        assertEquals(6, carRepository.findById(VALID_CAR_ID).orElseThrow().getInventory());
+    }
+
+    @Test
+    @DisplayName("Return the same rental concurrently - returned and released exactly once")
+    void returnRentals_ConcurrentRequests_ReleaseUnitOnce() throws Exception {
+        int requests = 8;
+        String body = objectMapper.writeValueAsString(new BulkRentalReturnRequestDto()
+                .setReturns(List.of(new RentalReturnItemDto().setRentalId(VALID_RENTAL_ID)
+                        .setReturnDate(LocalDate.now()))));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<RentalReturnReportDto>> reports = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                reports.add(executor.submit(() -> {
+                    start.await();
+                    MvcResult result = mockMvc.perform(put("/rentals/return")
+                                    .with(user("admin@example.com").roles("MANAGER"))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andExpect(status().isOk())
+                            .andReturn();
+                    return objectMapper.readValue(result.getResponse().getContentAsString(),
+                            RentalReturnReportDto.class);
+                }));
+            }
+            start.countDown();
+            int returned = 0;
+            for (Future<RentalReturnReportDto> report : reports) {
+                returned += report.get(30, TimeUnit.SECONDS).getReturned();
+            }
+            assertEquals(1, returned);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(6, carRepository.findById(VALID_CAR_ID).orElseThrow().getInventory());
+    }
+
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Return rentals in bulk - forbidden for CUSTOMER")
+    void returnRentals_ForbiddenForCustomer() throws Exception {
+        BulkRentalReturnRequestDto requestDto = new BulkRentalReturnRequestDto().setReturns(List.of(
+                new RentalReturnItemDto().setRentalId(VALID_RENTAL_ID)
+                        .setReturnDate(LocalDate.now())));
+        mockMvc.perform(put("/rentals/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<Long> availableCarIds(LocalDate from, LocalDate to) throws Exception {
+        MvcResult result = mockMvc.perform(get("/cars/available")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andReturn();
+        CarDto[] cars = objectMapper.readValue(objectMapper.readTree(result.getResponse()
+                .getContentAsString()).get("content").toString(), CarDto[].class);
+        return List.of(cars).stream().map(CarDto::getId).toList();
+    }
 }
@@ -0,0 +1,138 @@
+package carsharingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import carsharingapp.dto.report.CarTypeStatsDto;
+import carsharingapp.dto.report.DailyCarTypeStatsDto;
+import carsharingapp.model.Car;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+@Sql(scripts = {
+        "classpath:database/add-users-to-users-table.sql",
+        "classpath:database/add-cars-to-cars-table.sql",
+        "classpath:database/add-rentals-to-rentals-table.sql",
+        "classpath:database/add-payments-to-payments-table.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/delete-daily-car-type-stats-from-daily-car-type-stats-table.sql",
+        "classpath:database/delete-payments-from-payments-table.sql",
+        "classpath:database/delete-rentals-from-rentals-table.sql",
+        "classpath:database/delete-cars-from-cars-table.sql",
+        "classpath:database/delete-users-from-users-table.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReportControllerTest {
+    protected static MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext context) {
+        mockMvc = webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Rebuild and get daily stats - revenue, returns, rentals on the road")
+    void getDailyStats_AfterRebuild_ReturnsAggregatesPerDay() throws Exception {
+        rebuild("2025-07-07", "2025-07-23");
+
+        List<DailyCarTypeStatsDto> actual = objectMapper.readValue(mockMvc.perform(
+                        get("/reports/daily")
+                                .param("from", "2025-07-07")
+                                .param("to", "2025-07-23")
+                                .param("carType", "SEDAN"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), new TypeReference<>() {
+                });
+
+        assertEquals(17, actual.size());
+        DailyCarTypeStatsDto returnDay = actual.get(0);
+        assertEquals(LocalDate.of(2025, 7, 7), returnDay.getDate());
+        assertEquals(1, returnDay.getRentalsReturned());
+        assertEquals(0, returnDay.getRentedCars());
+        assertEquals(6, returnDay.getFleetSize());
+        assertEquals(new BigDecimal("480.00"), actual.get(1).getPaymentRevenue());
+        DailyCarTypeStatsDto startDay = actual.get(8);
+        assertEquals(1, startDay.getRentalsStarted());
+        assertEquals(1, startDay.getRentedCars());
+        assertEquals(new BigDecimal("0.1667"), startDay.getUtilization());
+        assertEquals(0, actual.get(15).getRentalsOverdue());
+        assertEquals(1, actual.get(16).getRentalsOverdue());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Get car type totals - sums and utilization over the period")
+    void getCarTypeTotals_AfterRebuild_ReturnsTotalsPerCarType() throws Exception {
+        rebuild("2025-07-01", "2025-07-31");
+
+        List<CarTypeStatsDto> actual = objectMapper.readValue(mockMvc.perform(
+                        get("/reports/car-types")
+                                .param("from", "2025-07-01")
+                                .param("to", "2025-07-31"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), new TypeReference<>() {
+                });
+
+        assertEquals(Car.Type.values().length, actual.size());
+        CarTypeStatsDto sedan = actual.stream()
+                .filter(stats -> stats.getCarType() == Car.Type.SEDAN)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(new BigDecimal("480.00"), sedan.getPaymentRevenue());
+        assertEquals(2, sedan.getRentalsStarted());
+        assertEquals(1, sedan.getRentalsReturned());
+        assertEquals(23, sedan.getRentedCarDays());
+        assertEquals(186, sedan.getFleetCarDays());
+        assertEquals(new BigDecimal("0.1237"), sedan.getUtilization());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "MANAGER")
+    @DisplayName("Get daily stats with an inverted period - bad request")
+    void getDailyStats_FromAfterTo_BadRequest() throws Exception {
+        mockMvc.perform(get("/reports/daily")
+                        .param("from", "2025-07-31")
+                        .param("to", "2025-07-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "customer@example.com", roles = "CUSTOMER")
+    @DisplayName("Get car type totals - forbidden for CUSTOMER")
+    void getCarTypeTotals_ForbiddenForCustomer() throws Exception {
+        mockMvc.perform(get("/reports/car-types")
+                        .param("from", "2025-07-01")
+                        .param("to", "2025-07-31"))
+                .andExpect(status().isForbidden());
+    }
+
+    private void rebuild(String from, String to) throws Exception {
+        mockMvc.perform(post("/reports/rebuild")
+                        .param("from", from)
+                        .param("to", to))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,48 @@
+package carsharingapp.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadTestReport {
+    private final Map<String, Queue<Long>> latencies = new ConcurrentSkipListMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    public int getErrorCount() {
+        return errors.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public String format(Duration elapsed) {
+        StringBuilder report = new StringBuilder(String.format("%-14s %8s %7s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "req/s"));
+        double seconds = elapsed.toNanos() / 1e9;
+        latencies.forEach((endpoint, samples) -> {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            AtomicInteger failed = errors.get(endpoint);
+            report.append(String.format("%-14s %8d %7d %10.1f %10.1f %10.1f%n",
+                    endpoint, sorted.length, failed == null ? 0 : failed.get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length / seconds));
+        });
+        return report.toString();
+    }
+
+    private double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,208 @@
+package carsharingapp.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.config.CustomPostgreSqlContainer;
+import carsharingapp.model.Car;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.stub.StripeStubServer;
+import carsharingapp.stub.TelegramStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.servlet.context-path=/api")
+public class RentalFlowLoadTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 5);
+    private static final int CARS = 20;
+    private static final Duration STRIPE_LATENCY =
+            Duration.ofMillis(Long.getLong("loadtest.stripe-latency-ms", 150));
+    private static final Duration TELEGRAM_LATENCY =
+            Duration.ofMillis(Long.getLong("loadtest.telegram-latency-ms", 50));
+    private static final String PASSWORD = "password123";
+
+    @Container
+    private static final CustomPostgreSqlContainer postgres =
+            CustomPostgreSqlContainer.getInstance();
+    private static StripeStubServer stripe;
+    private static TelegramStubServer telegram;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadTestReport report = new LoadTestReport();
+    private final AtomicInteger userSequence = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        stripe = new StripeStubServer();
+        stripe.setLatency(STRIPE_LATENCY);
+        telegram = new TelegramStubServer();
+        telegram.setLatency(TELEGRAM_LATENCY);
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("stripe.api.base", stripe::getApiBase);
+        registry.add("telegram.api.url", telegram::getApiUrl);
+    }
+
+    @BeforeAll
+    static void setUp(@Autowired CarRepository carRepository) {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            Car car = new Car();
+            car.setModel("Model " + i);
+            car.setBrand("Brand");
+            car.setType(Car.Type.SEDAN);
+            car.setInventory(1_000_000);
+            car.setDailyFee(BigDecimal.valueOf(50 + i));
+            cars.add(car);
+        }
+        carRepository.saveAll(cars);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stripe.close();
+        telegram.close();
+    }
+
+    @Test
+    @DisplayName("Register, login, list cars, rent, pay and return under concurrent load")
+    void rentalFlow_ConcurrentUsers_NoErrors() throws Exception {
+        long[] carIds = jdbcTemplate.queryForList("SELECT id FROM cars", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> sessions = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                sessions.add(executor.submit(() -> {
+                    runUser(carIds);
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        System.out.printf("Load test: %d users x %d iterations in %d ms%n%s",
+                USERS, ITERATIONS, elapsed.toMillis(), report.format(elapsed));
+        assertEquals(0, report.getErrorCount());
+    }
+
+    private void runUser(long[] carIds) throws IOException, InterruptedException {
+        int number = userSequence.incrementAndGet();
+        String email = "load" + number + "@example.com";
+        JsonNode user = call("register", "POST", "/auth/registration", null, Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "repeatPassword", PASSWORD,
+                "firstName", "Load",
+                "lastName", "User" + number));
+        if (user == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE users SET tg_chat_id = ? WHERE id = ?",
+                String.valueOf(100_000 + number), user.get("id").asLong());
+        JsonNode login = call("login", "POST", "/auth/login", null,
+                Map.of("email", email, "password", PASSWORD));
+        if (login == null) {
+            return;
+        }
+        String token = login.get("token").asText();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runIteration(token, carIds[(number + i) % carIds.length]);
+        }
+    }
+
+    private void runIteration(String token, long carId) throws IOException, InterruptedException {
+        if (call("list cars", "GET", "/cars?page=0&size=20", token, null) == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        JsonNode rental = call("rent", "POST", "/rentals", token, Map.of(
+                "carId", carId,
+                "rentalDate", today.toString(),
+                "returnDate", today.plusDays(3).toString()));
+        if (rental == null) {
+            return;
+        }
+        long rentalId = rental.get("id").asLong();
+        JsonNode payment = call("pay", "POST", "/payments", token,
+                Map.of("rentalId", rentalId, "paymentType", "PAYMENT"));
+        if (payment == null) {
+            return;
+        }
+        String sessionId = payment.get("sessionId").asText();
+        stripe.markPaid(sessionId);
+        call("pay success", "GET", "/payments/success/" + sessionId, token, null);
+        call("return", "PUT", "/rentals/" + rentalId + "/return", token,
+                Map.of("returnDate", today.plusDays(2).toString()));
+    }
+
+    private JsonNode call(String endpoint, String method, String path, String token,
+                          Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api" + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(
+                                objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long started = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request.build(),
+                HttpResponse.BodyHandlers.ofString());
+        boolean success = response.statusCode() / 100 == 2;
+        report.record(endpoint, System.nanoTime() - started, success);
+        if (!success) {
+            System.err.printf("%s %s -> %d %s%n", method, path, response.statusCode(),
+                    response.body());
+            return null;
+        }
+        return response.body().isEmpty() ? objectMapper.nullNode()
+                : objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,169 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.SweepCheckpoint;
+import carsharingapp.repository.SweepCheckpointRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationSweeperTest {
+    private static final String JOB_NAME = "test-job";
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 7, 15);
+
+    @Mock
+    private SweepCheckpointRepository checkpointRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private NotificationSweeper notificationSweeper;
+    private final List<Long> committed = new CopyOnWriteArrayList<>();
+    private final AtomicInteger openTransactions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationSweeper, "chunkSize", 3);
+        ReflectionTestUtils.setField(notificationSweeper, "parallelism", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                openTransactions.decrementAndGet();
+            }
+        });
+        lenient().when(checkpointRepository.updateLastProcessedId(eq(JOB_NAME), any()))
+                .thenAnswer(invocation -> {
+                    committed.add(invocation.getArgument(1));
+                    return 1;
+                });
+    }
+
+    @Test
+    @DisplayName("Sweep interrupted job - resumes after checkpoint and completes")
+    void sweep_InterruptedCheckpoint_ResumesAfterLastProcessedId() {
+        SweepCheckpoint checkpoint = new SweepCheckpoint();
+        checkpoint.setJobName(JOB_NAME);
+        checkpoint.setRunDate(RUN_DATE);
+        checkpoint.setLastProcessedId(4L);
+        when(checkpointRepository.findById(JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(checkpointRepository.save(any(SweepCheckpoint.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        List<Long> processed = new CopyOnWriteArrayList<>();
+
+        notificationSweeper.sweep(JOB_NAME, RUN_DATE,
+                (lastId, limit) -> LongStream.rangeClosed(1, 10)
+                        .filter(id -> id > lastId)
+                        .limit(limit.max())
+                        .boxed()
+                        .toList(),
+                id -> id,
+                processed::addAll);
+
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L), processed.stream().sorted().toList());
+        assertEquals(List.of(7L, 10L), committed);
+        assertEquals(10L, checkpoint.getLastProcessedId());
+        assertTrue(checkpoint.isCompleted());
+    }
+
+    @Test
+    @DisplayName("Sweep with failing chunk - checkpoint stays before the failed chunk")
+    void sweep_FailingChunk_KeepsCheckpointBeforeFailure() {
+        when(checkpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        List<SweepCheckpoint> saved = new CopyOnWriteArrayList<>();
+        when(checkpointRepository.save(any(SweepCheckpoint.class))).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        notificationSweeper.sweep(JOB_NAME, RUN_DATE,
+                (lastId, limit) -> LongStream.rangeClosed(1, 9)
+                        .filter(id -> id > lastId)
+                        .limit(limit.max())
+                        .boxed()
+                        .toList(),
+                id -> id,
+                chunk -> {
+                    if (chunk.contains(4L)) {
+                        throw new IllegalStateException("Telegram is down");
+                    }
+                });
+
+        SweepCheckpoint checkpoint = saved.get(saved.size() - 1);
+        assertEquals(3L, checkpoint.getLastProcessedId());
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(List.of(3L), committed);
+    }
+
+    @Test
+    @DisplayName("Sweep with a slow first chunk - checkpoints committed in key order")
+    void sweep_SlowFirstChunk_CommitsCheckpointsInKeyOrder() {
+        when(checkpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        when(checkpointRepository.save(any(SweepCheckpoint.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        notificationSweeper.sweep(JOB_NAME, RUN_DATE,
+                (lastId, limit) -> LongStream.rangeClosed(1, 6)
+                        .filter(id -> id > lastId)
+                        .limit(limit.max())
+                        .boxed()
+                        .toList(),
+                id -> id,
+                chunk -> {
+                    if (chunk.contains(1L)) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                    }
+                });
+
+        assertEquals(List.of(3L, 6L), committed);
+    }
+
+    @Test
+    @DisplayName("Sweep with a slow first chunk - later chunks do not hold a transaction")
+    void sweep_SlowFirstChunk_LaterChunksDoNotWaitInTransaction() {
+        when(checkpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        when(checkpointRepository.save(any(SweepCheckpoint.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        AtomicInteger openWhenSlowChunkDone = new AtomicInteger();
+
+        notificationSweeper.sweep(JOB_NAME, RUN_DATE,
+                (lastId, limit) -> LongStream.rangeClosed(1, 6)
+                        .filter(id -> id > lastId)
+                        .limit(limit.max())
+                        .boxed()
+                        .toList(),
+                id -> id,
+                chunk -> {
+                    if (chunk.contains(1L)) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                        openWhenSlowChunkDone.set(openTransactions.get());
+                    }
+                });
+
+        assertEquals(1, openWhenSlowChunkDone.get());
+        assertEquals(List.of(3L, 6L), committed);
+    }
+}
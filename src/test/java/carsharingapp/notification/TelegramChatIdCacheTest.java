@@ -0,0 +1,66 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramChatIdCacheTest {
+    private static final Long USER_ID = 1L;
+    private static final String CHAT_ID = "123456789";
+
+    @Mock
+    private UserRepository userRepository;
+    private TelegramChatIdCache chatIdCache;
+
+    @BeforeEach
+    void setUp() {
+        chatIdCache = new TelegramChatIdCache(userRepository, 100, Duration.ofMinutes(10),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Get chat id twice - loaded from database once")
+    void get_RepeatedLookup_LoadedOnce() {
+        when(userRepository.findTgChatIdById(USER_ID)).thenReturn(Optional.of(CHAT_ID));
+
+        assertEquals(Optional.of(CHAT_ID), chatIdCache.get(USER_ID));
+        assertEquals(Optional.of(CHAT_ID), chatIdCache.get(USER_ID));
+
+        verify(userRepository, times(1)).findTgChatIdById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Get chat id of unlinked user - absence cached")
+    void get_UnlinkedUser_AbsenceCached() {
+        when(userRepository.findTgChatIdById(USER_ID)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), chatIdCache.get(USER_ID));
+        assertEquals(Optional.empty(), chatIdCache.get(USER_ID));
+
+        verify(userRepository, times(1)).findTgChatIdById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Put chat id after linking - served without database lookup")
+    void put_LinkedChat_ReplacesCachedValue() {
+        chatIdCache.put(USER_ID, CHAT_ID);
+
+        assertEquals(Optional.of(CHAT_ID), chatIdCache.get(USER_ID));
+
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,95 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.model.TelegramUpdateState;
+import carsharingapp.repository.TelegramUpdateStateRepository;
+import carsharingapp.stub.TelegramStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramLongPollingReceiverTest {
+    @Mock
+    private TelegramUpdateHandler updateHandler;
+    @Mock
+    private TelegramUpdateStateRepository stateRepository;
+    private TelegramStubServer telegramStub;
+    private TelegramLongPollingReceiver receiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        telegramStub = new TelegramStubServer();
+        TelegramClient telegramClient =
+                new TelegramClient(new RestTemplate(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(telegramClient, "telegramApiUrl", telegramStub.getApiUrl());
+        ReflectionTestUtils.setField(telegramClient, "botToken", "test-token");
+        receiver = new TelegramLongPollingReceiver(new RestTemplateBuilder(),
+                HttpClient.newHttpClient(), telegramClient, updateHandler, stateRepository,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(receiver, "telegramApiUrl", telegramStub.getApiUrl());
+        ReflectionTestUtils.setField(receiver, "botToken", "test-token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        telegramStub.close();
+    }
+
+    @Test
+    @DisplayName("Poll as lease holder - pending updates handled in order")
+    void pollOnce_LeaseAcquired_HandlesUpdatesFromOffset() {
+        telegramStub.addUpdate(5L, 1L, "/start");
+        telegramStub.addUpdate(6L, 2L, "/start");
+        telegramStub.addUpdate(7L, 3L, "/start");
+        when(stateRepository.acquireLease(eq(TelegramUpdateState.UPDATES), anyString(),
+                any(), any())).thenReturn(1);
+        when(updateHandler.getNextOffset()).thenReturn(6L);
+
+        assertTrue(receiver.pollOnce());
+
+        ArgumentCaptor<TelegramUpdateDto> updates =
+                ArgumentCaptor.forClass(TelegramUpdateDto.class);
+        verify(updateHandler, times(2)).handle(updates.capture());
+        assertEquals(List.of(6L, 7L),
+                updates.getAllValues().stream().map(TelegramUpdateDto::getUpdateId).toList());
+        assertEquals(3L, updates.getAllValues().get(1).getMessage().getChat().getId());
+        assertTrue(telegramStub.getRequestPaths().get(0).endsWith("/deleteWebhook"));
+    }
+
+    @Test
+    @DisplayName("Poll while another node holds the lease - Telegram is not called")
+    void pollOnce_LeaseHeldElsewhere_SkipsPolling() {
+        when(stateRepository.acquireLease(eq(TelegramUpdateState.UPDATES), anyString(),
+                any(), any())).thenReturn(0);
+
+        assertFalse(receiver.pollOnce());
+
+        verify(updateHandler, never()).handle(any());
+        assertTrue(telegramStub.getRequestPaths().isEmpty());
+    }
+}
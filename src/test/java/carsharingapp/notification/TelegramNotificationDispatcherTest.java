@@ -0,0 +1,169 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.Notification;
+import carsharingapp.repository.NotificationRepository;
+import carsharingapp.stub.TelegramStubServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramNotificationDispatcherTest {
+    private static final String CHAT_ID = "123456789";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private TelegramStubServer telegramStub;
+    private TelegramNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        telegramStub = new TelegramStubServer();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TelegramClient telegramClient = new TelegramClient(new RestTemplate(), meterRegistry);
+        ReflectionTestUtils.setField(telegramClient, "telegramApiUrl", telegramStub.getApiUrl());
+        ReflectionTestUtils.setField(telegramClient, "botToken", "test-token");
+        dispatcher = new TelegramNotificationDispatcher(notificationRepository, telegramClient,
+                meterRegistry, transactionTemplate);
+        ReflectionTestUtils.setField(dispatcher, "workerCount", 2);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoff", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(dispatcher, "chatInterval", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(dispatcher, "claimTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(dispatcher, "retention", Duration.ofDays(7));
+        dispatcher.init();
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        telegramStub.close();
+    }
+
+    @Test
+    @DisplayName("Dispatch pending notifications - batched into one message per chat")
+    void dispatch_PendingNotificationsForOneChat_SentAsOneMessage() {
+        List<Notification> pending = List.of(createNotification("First"),
+                createNotification("Second"));
+        mockDueNotifications(pending);
+
+        dispatcher.dispatch();
+
+        List<Map<String, String>> sent = telegramStub.getSentMessages();
+        assertEquals(1, sent.size());
+        assertEquals(CHAT_ID, sent.get(0).get("chat_id"));
+        assertEquals("First\n\nSecond", sent.get(0).get("text"));
+        assertTrue(pending.stream()
+                .allMatch(n -> n.getStatus() == Notification.Status.SENT));
+    }
+
+    @Test
+    @DisplayName("Dispatch when Telegram fails - retried with backoff, then marked failed")
+    void dispatch_TelegramUnavailable_RetriesThenFails() {
+        telegramStub.setFailing(true);
+        Notification notification = createNotification("Message");
+        mockDueNotifications(List.of(notification));
+
+        dispatcher.dispatch();
+
+        assertEquals(Notification.Status.PENDING, notification.getStatus());
+        assertEquals(1, notification.getAttempts());
+        assertTrue(notification.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        ReflectionTestUtils.setField(dispatcher, "chatInterval", Duration.ZERO);
+        dispatcher.dispatch();
+
+        assertEquals(Notification.Status.FAILED, notification.getStatus());
+        assertTrue(telegramStub.getSentMessages().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Dispatch rejected by Telegram with 400 - marked failed without retrying")
+    void dispatch_TelegramBadRequest_FailsWithoutRetry() {
+        telegramStub.setErrorStatus(400);
+        Notification notification = createNotification("Message");
+        mockDueNotifications(List.of(notification));
+
+        dispatcher.dispatch();
+
+        assertEquals(Notification.Status.FAILED, notification.getStatus());
+        assertEquals(0, notification.getAttempts());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(notificationRepository).saveAll(List.of(notification));
+    }
+
+    @Test
+    @DisplayName("Dispatch to a throttled chat - notifications are not claimed")
+    void dispatch_ChatSentWithinInterval_LeavesNotificationsDue() {
+        mockDueNotifications(List.of(createNotification("First")));
+        dispatcher.dispatch();
+        Notification second = createNotification("Second");
+        final LocalDateTime dueAt = second.getNextAttemptAt();
+        mockDueNotifications(List.of(second));
+
+        dispatcher.dispatch();
+
+        assertEquals(1, telegramStub.getSentMessages().size());
+        assertEquals(Notification.Status.PENDING, second.getStatus());
+        assertEquals(dueAt, second.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Purge sent notifications - deleted in batches until none are left")
+    void purgeSent_OldSentNotifications_DeletedInBatches() {
+        when(notificationRepository.deleteOldest(eq("SENT"), any(LocalDateTime.class),
+                eq(100))).thenReturn(100, 100, 7);
+
+        dispatcher.purgeSent();
+
+        verify(notificationRepository, times(3)).deleteOldest(eq("SENT"),
+                any(LocalDateTime.class), eq(100));
+    }
+
+    private void mockDueNotifications(List<Notification> notifications) {
+        when(notificationRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(Notification.Status.PENDING), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(notifications);
+    }
+
+    private Notification createNotification(String message) {
+        Notification notification = new Notification();
+        notification.setUserId(1L);
+        notification.setChatId(CHAT_ID);
+        notification.setMessage(message);
+        notification.setStatus(Notification.Status.PENDING);
+        notification.setNextAttemptAt(LocalDateTime.now());
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+}
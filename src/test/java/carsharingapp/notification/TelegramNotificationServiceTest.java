@@ -0,0 +1,69 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.Notification;
+import carsharingapp.repository.NotificationRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramNotificationServiceTest {
+    private static final String CHAT_ID = "123456789";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private TelegramChatIdCache telegramChatIdCache;
+    @InjectMocks
+    private TelegramNotificationService notificationService;
+    @Captor
+    private ArgumentCaptor<List<Notification>> notificationsCaptor;
+
+    @Test
+    @DisplayName("Send message longer than Telegram allows - enqueued as several parts")
+    void sendNotification_MessageTooLong_SplitAtLineBreaks() {
+        String line = "x".repeat(99) + "\n";
+        String message = line.repeat(50);
+        when(telegramChatIdCache.get(1L)).thenReturn(Optional.of(CHAT_ID));
+
+        notificationService.sendNotification(1L, message);
+
+        verify(notificationRepository).saveAll(notificationsCaptor.capture());
+        List<Notification> notifications = notificationsCaptor.getValue();
+        assertEquals(2, notifications.size());
+        assertEquals(line.repeat(40), notifications.get(0).getMessage());
+        assertEquals(line.repeat(10), notifications.get(1).getMessage());
+    }
+
+    @Test
+    @DisplayName("Split message without line breaks - surrogate pairs kept whole")
+    void splitMessage_NoLineBreaks_DoesNotBreakSurrogatePair() {
+        String message = "x".repeat(TelegramClient.MAX_MESSAGE_LENGTH - 1) + "🚗" + "tail";
+
+        List<String> parts = notificationService.splitMessage(message);
+
+        assertEquals(2, parts.size());
+        assertTrue(parts.stream()
+                .allMatch(part -> part.length() <= TelegramClient.MAX_MESSAGE_LENGTH));
+        assertEquals("🚗tail", parts.get(1));
+        assertEquals(message, String.join("", parts));
+    }
+
+    @Test
+    @DisplayName("Split short message - kept as one part")
+    void splitMessage_ShortMessage_SinglePart() {
+        assertEquals(List.of("Hello"), notificationService.splitMessage("Hello"));
+    }
+}
@@ -0,0 +1,95 @@
+package carsharingapp.notification;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.telegram.TelegramChatDto;
+import carsharingapp.dto.telegram.TelegramMessageDto;
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.model.TelegramUpdateState;
+import carsharingapp.repository.TelegramUpdateStateRepository;
+import carsharingapp.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramUpdateHandlerTest {
+    private static final long CHAT_ID = 123456789L;
+
+    @Mock
+    private TelegramUpdateStateRepository stateRepository;
+    @Mock
+    private GreetingTelegramNotificationService greetingService;
+    @Mock
+    private UserService userService;
+    @InjectMocks
+    private TelegramUpdateHandler updateHandler;
+
+    @Test
+    @DisplayName("Handle /start update - greeting sent to the chat")
+    void handle_StartCommand_SendsGreeting() {
+        when(stateRepository.advanceOffset(TelegramUpdateState.UPDATES, 10L)).thenReturn(1);
+
+        updateHandler.handle(createUpdate(10L, "/start"));
+
+        verify(greetingService).sendGreetingMessage(String.valueOf(CHAT_ID));
+    }
+
+    @Test
+    @DisplayName("Handle /start with valid link token - chat linked and confirmed")
+    void handle_StartWithValidToken_LinksChat() {
+        when(stateRepository.advanceOffset(TelegramUpdateState.UPDATES, 12L)).thenReturn(1);
+        when(userService.linkTelegramChat("token", String.valueOf(CHAT_ID))).thenReturn(true);
+
+        updateHandler.handle(createUpdate(12L, "/start token"));
+
+        verify(greetingService).sendAccountLinkedMessage(String.valueOf(CHAT_ID));
+        verify(greetingService, never()).sendGreetingMessage(anyString());
+    }
+
+    @Test
+    @DisplayName("Handle /start with unknown link token - plain greeting sent")
+    void handle_StartWithUnknownToken_SendsGreeting() {
+        when(stateRepository.advanceOffset(TelegramUpdateState.UPDATES, 13L)).thenReturn(1);
+        when(userService.linkTelegramChat("stale", String.valueOf(CHAT_ID))).thenReturn(false);
+
+        updateHandler.handle(createUpdate(13L, "/start stale"));
+
+        verify(greetingService).sendGreetingMessage(String.valueOf(CHAT_ID));
+        verify(greetingService, never()).sendAccountLinkedMessage(anyString());
+    }
+
+    @Test
+    @DisplayName("Handle already processed update - ignored")
+    void handle_DuplicateUpdate_Ignored() {
+        when(stateRepository.advanceOffset(TelegramUpdateState.UPDATES, 10L)).thenReturn(0);
+
+        updateHandler.handle(createUpdate(10L, "/start"));
+
+        verify(greetingService, never()).sendGreetingMessage(anyString());
+    }
+
+    @Test
+    @DisplayName("Handle plain text update - offset advanced, no reply")
+    void handle_PlainText_NoGreeting() {
+        when(stateRepository.advanceOffset(TelegramUpdateState.UPDATES, 11L)).thenReturn(1);
+
+        updateHandler.handle(createUpdate(11L, "hello"));
+
+        verify(greetingService, never()).sendGreetingMessage(anyString());
+    }
+
+    private TelegramUpdateDto createUpdate(long updateId, String text) {
+        return new TelegramUpdateDto()
+                .setUpdateId(updateId)
+                .setMessage(new TelegramMessageDto()
+                        .setText(text)
+                        .setChat(new TelegramChatDto().setId(CHAT_ID)));
+    }
+}
@@ -0,0 +1,58 @@
+package carsharingapp.notification;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import carsharingapp.dto.telegram.TelegramUpdateDto;
+import carsharingapp.exception.WebhookSignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramWebhookReceiverTest {
+    @Mock
+    private TelegramClient telegramClient;
+    @Mock
+    private TelegramUpdateHandler updateHandler;
+    private TelegramWebhookReceiver receiver;
+
+    @BeforeEach
+    void setUp() {
+        receiver = new TelegramWebhookReceiver(telegramClient, updateHandler);
+        ReflectionTestUtils.setField(receiver, "webhookUrl", "https://example.com/telegram");
+    }
+
+    @Test
+    @DisplayName("Blank webhook secret - startup fails")
+    void validate_BlankSecret_ThrowsException() {
+        ReflectionTestUtils.setField(receiver, "webhookSecret", " ");
+
+        assertThrows(IllegalStateException.class, receiver::validate);
+    }
+
+    @Test
+    @DisplayName("Configured webhook secret - startup succeeds")
+    void validate_SecretSet_DoesNotThrow() {
+        ReflectionTestUtils.setField(receiver, "webhookSecret", "test-secret");
+
+        assertDoesNotThrow(receiver::validate);
+    }
+
+    @Test
+    @DisplayName("Receive update with wrong secret token - update rejected")
+    void receive_WrongSecretToken_ThrowsException() {
+        ReflectionTestUtils.setField(receiver, "webhookSecret", "test-secret");
+
+        assertThrows(WebhookSignatureException.class,
+                () -> receiver.receive(new TelegramUpdateDto(), "other-secret"));
+        verify(updateHandler, never()).handle(any());
+    }
+}
@@ -0,0 +1,188 @@
+package carsharingapp.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.exception.PaymentException;
+import carsharingapp.exception.WebhookSignatureException;
+import carsharingapp.stub.StripeStubServer;
+import com.stripe.StripeClient;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.Webhook;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class StripePaymentGatewayTest {
+    private static final BigDecimal AMOUNT = new BigDecimal("80.00");
+    private static final String WEBHOOK_SECRET = "whsec_test";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StripeStubServer stripeStub;
+    private StripePaymentGateway paymentGateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stripeStub = new StripeStubServer();
+        paymentGateway = createGateway(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stripeStub.close();
+    }
+
+    @Test
+    @DisplayName("Create session twice with the same key - one Stripe session")
+    void createCheckoutSession_SameIdempotencyKey_ReturnsSameSession() {
+        CheckoutSession first = paymentGateway.createCheckoutSession(AMOUNT, "rental-1");
+        CheckoutSession second = paymentGateway.createCheckoutSession(AMOUNT, "rental-1");
+
+        assertEquals(first, second);
+        assertEquals(1, stripeStub.getCreatedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Create session concurrently with the same key - both get the same session")
+    void createCheckoutSession_ConcurrentSameIdempotencyKey_ReturnsSameSession()
+            throws Exception {
+        stripeStub.setLatency(Duration.ofMillis(300));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<CheckoutSession> first = executor.submit(
+                    () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+            Future<CheckoutSession> second = executor.submit(
+                    () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+
+            assertEquals(first.get(), second.get());
+        }
+        assertEquals(1, stripeStub.getCreatedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Check session status - paid only after Stripe reports it")
+    void isSessionPaid_PaidSession_ReturnsTrue() {
+        CheckoutSession session = paymentGateway.createCheckoutSession(AMOUNT, "rental-1");
+        assertFalse(paymentGateway.isSessionPaid(session.id()));
+
+        stripeStub.markPaid(session.id());
+
+        assertTrue(paymentGateway.isSessionPaid(session.id()));
+    }
+
+    @Test
+    @DisplayName("Stripe keeps failing - circuit opens and requests stop")
+    void createCheckoutSession_RepeatedFailures_OpensCircuit() {
+        stripeStub.setFailing(true);
+
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+        int requestsBeforeOpen = stripeStub.getRequestCount();
+        stripeStub.setFailing(false);
+
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+        assertEquals(requestsBeforeOpen, stripeStub.getRequestCount());
+        assertEquals(2, meterRegistry.get("stripe.requests")
+                .tag("outcome", "provider_error").timer().count());
+        assertEquals(1, meterRegistry.get("stripe.requests.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Paging fails during the half-open trial - failure recorded, trial released")
+    void findPaidSessionIds_PageFailureDuringTrial_ReleasesTrial() {
+        paymentGateway = createGateway(Duration.ZERO);
+        stripeStub.setFailing(true);
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.createCheckoutSession(AMOUNT, "rental-1"));
+        stripeStub.setFailing(false);
+        stripeStub.markPaid("cs_test_paid");
+        stripeStub.setFailingNextPages(true);
+
+        assertThrows(PaymentException.class,
+                () -> paymentGateway.findPaidSessionIds(Instant.now().minusSeconds(60)));
+        stripeStub.setFailingNextPages(false);
+
+        assertEquals(List.of("cs_test_paid"),
+                paymentGateway.findPaidSessionIds(Instant.now().minusSeconds(60)));
+        assertEquals(1, meterRegistry.get("stripe.requests")
+                .tags("operation", "list_sessions", "outcome", "provider_error").timer().count());
+    }
+
+    @Test
+    @DisplayName("Find paid sessions - only paid sessions are listed")
+    void findPaidSessionIds_OnePaidSession_ReturnsIt() {
+        CheckoutSession paid = paymentGateway.createCheckoutSession(AMOUNT, "rental-1");
+        paymentGateway.createCheckoutSession(AMOUNT, "rental-2");
+        stripeStub.markPaid(paid.id());
+
+        assertEquals(List.of(paid.id()),
+                paymentGateway.findPaidSessionIds(Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("Parse signed webhook - completed session event is read")
+    void parseWebhookEvent_ValidSignature_ReturnsEvent() throws Exception {
+        String payload = "{\"id\":\"evt_1\",\"object\":\"event\","
+                + "\"type\":\"checkout.session.completed\",\"data\":{\"object\":"
+                + "{\"id\":\"cs_test_1\",\"object\":\"checkout.session\","
+                + "\"payment_status\":\"paid\"}}}";
+
+        PaymentEvent event = paymentGateway.parseWebhookEvent(payload, sign(payload));
+
+        assertEquals(new PaymentEvent("evt_1", "checkout.session.completed", "cs_test_1", true),
+                event);
+    }
+
+    @Test
+    @DisplayName("Parse webhook with wrong signature - rejected")
+    void parseWebhookEvent_InvalidSignature_ThrowsException() {
+        String payload = "{\"id\":\"evt_1\",\"object\":\"event\"}";
+
+        assertThrows(WebhookSignatureException.class, () -> paymentGateway.parseWebhookEvent(
+                payload, "t=" + Instant.now().getEpochSecond() + ",v1=invalid"));
+    }
+
+    private String sign(String payload) throws Exception {
+        long timestamp = Instant.now().getEpochSecond();
+        String signature = Webhook.Util.computeHmacSha256(WEBHOOK_SECRET,
+                timestamp + "." + payload);
+        return "t=" + timestamp + ",v1=" + signature;
+    }
+
+    private StripePaymentGateway createGateway(Duration openDuration) {
+        StripeClient stripeClient = new StripeClient(new LiveStripeResponseGetter(
+                new JdkStripeHttpClient(HttpClient.newHttpClient())));
+        StripePaymentGateway gateway = new StripePaymentGateway(stripeClient, 2, openDuration,
+                meterRegistry);
+        ReflectionTestUtils.setField(gateway, "secretKey", "sk_test");
+        ReflectionTestUtils.setField(gateway, "webhookSecret", WEBHOOK_SECRET);
+        ReflectionTestUtils.setField(gateway, "apiBase", stripeStub.getApiBase());
+        ReflectionTestUtils.setField(gateway, "readTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(gateway, "maxNetworkRetries", 0);
+        ReflectionTestUtils.setField(gateway, "conflictMaxAttempts", 5);
+        ReflectionTestUtils.setField(gateway, "conflictBackoff", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(gateway, "successUrl", "http://localhost/success");
+        ReflectionTestUtils.setField(gateway, "cancelUrl", "http://localhost/cancel");
+        return gateway;
+    }
+}
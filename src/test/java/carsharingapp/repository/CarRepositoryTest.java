@@ -0,0 +1,69 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.model.Car;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@Sql(scripts = {
+        "classpath:database/add-users-to-users-table.sql",
+        "classpath:database/add-cars-to-cars-table.sql",
+        "classpath:database/add-rentals-to-rentals-table.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/delete-rentals-from-rentals-table.sql",
+        "classpath:database/delete-cars-from-cars-table.sql",
+        "classpath:database/delete-users-from-users-table.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest
+@Transactional
+public class CarRepositoryTest {
+    private static final Long CAR_ID = 7L;
+
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Find available - the open rental's held unit is the only one left")
+    void findAvailable_LastUnitRentedDuringPeriod_CarLeftOut() {
+        jdbcTemplate.update("UPDATE cars SET inventory = 0 WHERE id = ?", CAR_ID);
+
+        assertEquals(List.of(), findAvailableIds(LocalDate.of(2025, 7, 16),
+                LocalDate.of(2025, 7, 18)));
+        assertEquals(List.of(CAR_ID), findAvailableIds(LocalDate.of(2025, 7, 22),
+                LocalDate.of(2025, 7, 25)));
+    }
+
+    @Test
+    @DisplayName("Find available - a booking starting inside the period fills the last unit")
+    void findAvailable_BookingStartsInsidePeriod_CarLeftOut() {
+        jdbcTemplate.update("UPDATE cars SET inventory = 1 WHERE id = ?", CAR_ID);
+        jdbcTemplate.update("INSERT INTO rentals (id, rental_date, return_date, car_id, user_id, "
+                + "inventory_reserved) VALUES (9, '2025-07-20', '2025-07-24', 7, 2, FALSE)");
+
+        assertEquals(List.of(), findAvailableIds(LocalDate.of(2025, 7, 18),
+                LocalDate.of(2025, 7, 21)));
+        assertEquals(List.of(CAR_ID), findAvailableIds(LocalDate.of(2025, 7, 18),
+                LocalDate.of(2025, 7, 20)));
+        assertEquals(List.of(CAR_ID), findAvailableIds(LocalDate.of(2025, 7, 22),
+                LocalDate.of(2025, 7, 25)));
+    }
+
+    private List<Long> findAvailableIds(LocalDate from, LocalDate to) {
+        Page<Car> cars = carRepository.findAvailable(from, to, PageRequest.of(0, 10));
+        assertEquals(cars.getContent().size(), cars.getTotalElements());
+        return cars.map(Car::getId).getContent();
+    }
+}
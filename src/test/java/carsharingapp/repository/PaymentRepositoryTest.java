@@ -0,0 +1,44 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.model.Payment;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@Sql(scripts = {
+        "classpath:database/add-users-to-users-table.sql",
+        "classpath:database/add-cars-to-cars-table.sql",
+        "classpath:database/add-rentals-to-rentals-table.sql",
+        "classpath:database/add-payments-to-payments-table.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/delete-payments-from-payments-table.sql",
+        "classpath:database/delete-rentals-from-rentals-table.sql",
+        "classpath:database/delete-cars-from-cars-table.sql",
+        "classpath:database/delete-users-from-users-table.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest
+public class PaymentRepositoryTest {
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    @DisplayName("Mark payments paid twice - only pending rows are claimed, once")
+    void markPaid_RepeatedRun_ClaimsPendingRowsOnce() {
+        LocalDateTime paidAt = LocalDateTime.of(2025, 7, 16, 9, 0);
+
+        assertEquals(Set.of(7L), paymentRepository.markPaid(List.of(8L, 7L), paidAt));
+        assertEquals(Set.of(), paymentRepository.markPaid(List.of(7L), paidAt));
+
+        Payment payment = paymentRepository.findById(7L).orElseThrow();
+        assertEquals(Payment.Status.PAID, payment.getStatus());
+        assertEquals(paidAt, payment.getPaidAt());
+    }
+}
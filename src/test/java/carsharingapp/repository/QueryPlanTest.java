@@ -0,0 +1,129 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import carsharingapp.config.CustomPostgreSqlContainer;
+import carsharingapp.dto.car.CarSearchParametersDto;
+import carsharingapp.model.Car;
+import carsharingapp.service.CarService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@Sql(scripts = {"classpath:database/seed-query-plan-dataset.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+        + "=carsharingapp.repository.RecordingStatementInspector")
+public class QueryPlanTest {
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (rentals|payments)\\b");
+    private static final Pattern CARS_SEQ_SCAN = Pattern.compile("Seq Scan on cars\\b");
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Container
+    private static final CustomPostgreSqlContainer postgres =
+            CustomPostgreSqlContainer.getInstance();
+
+    @Autowired
+    private RentalRepository rentalRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private CarService carService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Test
+    @DisplayName("Rentals by user - served by an index")
+    void findRentalsByUserId_LargeDataset_NoSeqScan() {
+        assertNoSeqScan(() -> rentalRepository.findRentalsByUserId(42L,
+                PageRequest.of(0, 5)));
+        assertNoSeqScan(() -> rentalRepository.findActiveRentalsByUserId(42L,
+                PageRequest.of(0, 5)));
+        assertNoSeqScan(() -> rentalRepository.findReturnedRentalsByUserId(42L,
+                PageRequest.of(0, 5)));
+    }
+
+    @Test
+    @DisplayName("Overdue rentals sweep chunk - served by an index")
+    void findOverdueRentalsAfter_LargeDataset_NoSeqScan() {
+        assertNoSeqScan(() -> rentalRepository.findOverdueRentalsAfter(
+                LocalDate.of(2025, 1, 1), 0L, Limit.of(500)));
+    }
+
+    @Test
+    @DisplayName("Payment by session id - served by an index")
+    void findBySessionId_LargeDataset_NoSeqScan() {
+        assertNoSeqScan(() -> paymentRepository.findBySessionId("cs_test_101"));
+    }
+
+    @Test
+    @DisplayName("Payments by rental user - served by an index")
+    void findAllByRentalUserId_LargeDataset_NoSeqScan() {
+        assertNoSeqScan(() -> paymentRepository.findAllByRentalUserId(42L,
+                PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Car search deep page - served by an index")
+    void searchCars_LargeDataset_NoSeqScan() {
+        assertNoSeqScan(CARS_SEQ_SCAN, () -> carService.search(new CarSearchParametersDto()
+                .setInStock(true)
+                .setAfterFee(new BigDecimal("120.00"))
+                .setAfterId(15000L)));
+        assertNoSeqScan(CARS_SEQ_SCAN, () -> carService.search(new CarSearchParametersDto()
+                .setType(Car.Type.SUV)
+                .setMaxFee(new BigDecimal("90.00"))
+                .setAfterFee(new BigDecimal("70.00"))
+                .setAfterId(9000L)));
+        assertNoSeqScan(CARS_SEQ_SCAN, () -> carService.search(new CarSearchParametersDto()
+                .setBrand("Brand7")));
+    }
+
+    private void assertNoSeqScan(Runnable query) {
+        assertNoSeqScan(SEQ_SCAN, query);
+    }
+
+    private void assertNoSeqScan(Pattern seqScan, Runnable query) {
+        List<String> statements = RecordingStatementInspector.record(query);
+        assertFalse(statements.isEmpty(), "No SQL was executed");
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN (GENERIC_PLAN) " + toPositionalParameters(sql), String.class));
+            assertFalse(seqScan.matcher(plan).find(),
+                    () -> "Sequential scan for query:\n" + sql + "\n" + plan);
+        }
+    }
+
+    private String toPositionalParameters(String sql) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(result, "\\$" + ++index);
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.UserRentalDigestDto;
+import carsharingapp.model.Rental;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@Sql(scripts = {
+        "classpath:database/add-users-to-users-table.sql",
+        "classpath:database/add-cars-to-cars-table.sql",
+        "classpath:database/add-rentals-to-rentals-table.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/delete-rentals-from-rentals-table.sql",
+        "classpath:database/delete-cars-from-cars-table.sql",
+        "classpath:database/delete-users-from-users-table.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest
+public class RentalRepositoryTest {
+    @Autowired
+    private RentalRepository rentalRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Find non-overdue digests - one row per user with active rental count")
+    void findNonOverdueRentalDigestsAfter_NoOverdue_OneDigestPerUser() {
+        List<UserRentalDigestDto> digests = rentalRepository.findNonOverdueRentalDigestsAfter(
+                LocalDate.of(2025, 7, 20), 0L, Limit.of(10));
+
+        assertEquals(List.of(
+                new UserRentalDigestDto(1L, "Admin", 1L),
+                new UserRentalDigestDto(2L, "Customer", 0L)), digests);
+    }
+
+    @Test
+    @DisplayName("Find non-overdue digests - users with overdue rentals are skipped")
+    void findNonOverdueRentalDigestsAfter_OverdueUser_Skipped() {
+        List<UserRentalDigestDto> digests = rentalRepository.findNonOverdueRentalDigestsAfter(
+                LocalDate.of(2025, 7, 25), 0L, Limit.of(10));
+
+        assertEquals(List.of(new UserRentalDigestDto(2L, "Customer", 0L)), digests);
+    }
+
+    @Test
+    @DisplayName("Find active rentals by user - filtered and projected in the query")
+    void findActiveRentalsByUserId_OpenRental_ReturnsProjectedPage() {
+        Page<RentalResponseDto> rentals = rentalRepository.findActiveRentalsByUserId(1L,
+                PageRequest.of(0, 10));
+
+        assertEquals(1, rentals.getTotalElements());
+        assertEquals(new RentalResponseDto(7L, LocalDate.of(2025, 7, 15),
+                LocalDate.of(2025, 7, 22), null, 7L, 1L), rentals.getContent().get(0));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Find unreserved rentals - bookings flagged as failed are not retried")
+    void findUnreservedRentalsStartingBy_FailedActivation_Skipped() {
+        jdbcTemplate.update("UPDATE rentals SET inventory_reserved = FALSE WHERE id IN (7, 8)");
+        jdbcTemplate.update("UPDATE rentals SET actual_return_date = NULL, "
+                + "activation_failed = TRUE WHERE id = 8");
+
+        List<Rental> rentals = rentalRepository.findUnreservedRentalsStartingBy(
+                LocalDate.of(2025, 7, 20));
+
+        assertEquals(List.of(7L), rentals.stream().map(Rental::getId).toList());
+    }
+}
@@ -0,0 +1,93 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@Sql(scripts = {"classpath:database/add-cars-to-cars-table.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/delete-cars-from-cars-table.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest
+public class SecondLevelCacheTest {
+    private static final Long CAR_ID = 7L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CarRepository carRepository;
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Find role by name twice - second lookup served from the query cache")
+    void findByRoleName_RepeatedLookup_NoSecondQuery() {
+        roleRepository.findByRoleName(Role.RoleName.ROLE_CUSTOMER).orElseThrow();
+        roleRepository.findByRoleName(Role.RoleName.ROLE_CUSTOMER).orElseThrow();
+
+        // Scheduled jobs share the statistics, so only the role query region is counted
+        CacheRegionStatistics roleQueries = statistics.getQueryRegionStatistics(
+                RoleRepository.ROLE_QUERIES_REGION);
+        assertEquals(1, roleQueries.getMissCount());
+        assertEquals(1, roleQueries.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Find car by id twice - second lookup served from the cars region")
+    void findById_RepeatedLookup_SecondLevelCacheHit() {
+        carRepository.findById(CAR_ID).orElseThrow();
+        carRepository.findById(CAR_ID).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("cars").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Decrement inventory - only the updated car is evicted")
+    void decrementInventory_CachedCars_EvictsOnlyUpdatedCar() {
+        Car other = new Car();
+        other.setModel("Golf");
+        other.setBrand("Volkswagen");
+        other.setType(Car.Type.HATCHBACK);
+        other.setInventory(3);
+        other.setDailyFee(new BigDecimal("60.00"));
+        final Long otherId = carRepository.save(other).getId();
+        carRepository.findById(CAR_ID).orElseThrow();
+
+        assertEquals(1, carRepository.decrementInventory(CAR_ID));
+
+        assertFalse(entityManagerFactory.getCache().contains(Car.class, CAR_ID));
+        assertTrue(entityManagerFactory.getCache().contains(Car.class, otherId));
+        assertEquals(4, carRepository.findById(CAR_ID).orElseThrow().getInventory());
+    }
+}
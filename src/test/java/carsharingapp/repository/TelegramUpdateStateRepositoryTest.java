@@ -0,0 +1,50 @@
+package carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import carsharingapp.model.TelegramUpdateState;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class TelegramUpdateStateRepositoryTest {
+    private static final String NAME = TelegramUpdateState.UPDATES;
+
+    @Autowired
+    private TelegramUpdateStateRepository stateRepository;
+
+    @AfterEach
+    void tearDown() {
+        TelegramUpdateState state = stateRepository.findById(NAME).orElseThrow();
+        state.setLastUpdateId(0L);
+        state.setLeaseOwner(null);
+        state.setLeaseUntil(null);
+        stateRepository.save(state);
+    }
+
+    @Test
+    @DisplayName("Acquire lease - only one node holds it until it expires")
+    void acquireLease_TwoNodes_SingleLeader() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, stateRepository.acquireLease(NAME, "node-a", now, now.plusSeconds(60)));
+        assertEquals(0, stateRepository.acquireLease(NAME, "node-b", now, now.plusSeconds(60)));
+        assertEquals(1, stateRepository.acquireLease(NAME, "node-a",
+                now.plusSeconds(30), now.plusSeconds(90)));
+        assertEquals(1, stateRepository.acquireLease(NAME, "node-b",
+                now.plusSeconds(91), now.plusSeconds(151)));
+    }
+
+    @Test
+    @DisplayName("Advance offset - only moves forward")
+    void advanceOffset_OlderUpdate_Rejected() {
+        assertEquals(1, stateRepository.advanceOffset(NAME, 10L));
+        assertEquals(0, stateRepository.advanceOffset(NAME, 10L));
+        assertEquals(0, stateRepository.advanceOffset(NAME, 9L));
+        assertEquals(10L, stateRepository.findById(NAME).orElseThrow().getLastUpdateId());
+    }
+}
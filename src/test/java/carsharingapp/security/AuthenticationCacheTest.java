@@ -0,0 +1,79 @@
+package carsharingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import carsharingapp.model.Role;
+import carsharingapp.model.User;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+public class AuthenticationCacheTest {
+    private final AuthenticationCache authenticationCache =
+            new AuthenticationCache(100, Duration.ofMinutes(5));
+
+    @Test
+    @DisplayName("Get cached principal by token - success")
+    void get_CachedToken_ReturnsUserDetails() {
+        AuthenticatedUser user = createUser(1L);
+        authenticationCache.put("token", user, Instant.now().plus(Duration.ofHours(1)));
+
+        assertSame(user, authenticationCache.get("token"));
+        assertNull(authenticationCache.get("other-token"));
+    }
+
+    @Test
+    @DisplayName("Snapshot of a user - later entity changes do not leak into the principal")
+    void of_ChangedEntity_SnapshotUnchanged() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user1@example.com");
+        Role role = new Role();
+        role.setRoleName(Role.RoleName.ROLE_CUSTOMER);
+        user.getRoles().add(role);
+
+        final AuthenticatedUser principal = AuthenticatedUser.of(user);
+        user.setEmail("changed@example.com");
+        user.getRoles().clear();
+        user.setDeleted(true);
+
+        assertEquals("user1@example.com", principal.getUsername());
+        assertEquals(List.of("ROLE_CUSTOMER"), principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList());
+        assertTrue(principal.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Get principal of an expired token - not cached")
+    void get_ExpiredToken_ReturnsNull() {
+        authenticationCache.put("token", createUser(1L), Instant.now().minusSeconds(1));
+
+        assertNull(authenticationCache.get("token"));
+    }
+
+    @Test
+    @DisplayName("Evict user - all tokens of that user are dropped")
+    void evictUser_CachedTokens_RemovesOnlyThatUser() {
+        Instant expiration = Instant.now().plus(Duration.ofHours(1));
+        AuthenticatedUser other = createUser(2L);
+        authenticationCache.put("first", createUser(1L), expiration);
+        authenticationCache.put("second", createUser(1L), expiration);
+        authenticationCache.put("third", other, expiration);
+
+        authenticationCache.evictUser(1L);
+
+        assertNull(authenticationCache.get("first"));
+        assertNull(authenticationCache.get("second"));
+        assertSame(other, authenticationCache.get("third"));
+    }
+
+    private AuthenticatedUser createUser(Long id) {
+        return new AuthenticatedUser(id, "user" + id + "@example.com", List.of(), true);
+    }
+}
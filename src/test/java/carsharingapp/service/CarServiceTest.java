@@ -6,9 +6,12 @@ import static carsharingapp.util.TestUtil.createCreateCarRequestDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import carsharingapp.cache.CarCatalogCache;
+import carsharingapp.cache.LocalCarCatalogInvalidationBus;
 import carsharingapp.dto.car.CarDto;
 import carsharingapp.dto.car.CreateCarRequestDto;
 import carsharingapp.exception.EntityNotFoundException;
@@ -16,7 +19,9 @@ import carsharingapp.mapper.CarMapper;
 import carsharingapp.model.Car;
 import carsharingapp.repository.CarRepository;
 import carsharingapp.service.impl.CarServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,6 +41,12 @@ public class CarServiceTest {
     private CarRepository carRepository;
     @Mock
     private CarMapper carMapper;
+    @Mock
+    private InventoryService inventoryService;
+    @Spy
+    private CarCatalogCache carCatalogCache = new CarCatalogCache(100, 100,
+            Duration.ofMinutes(10), new LocalCarCatalogInvalidationBus(),
+            new SimpleMeterRegistry());
     @InjectMocks
     private CarServiceImpl carService;
 
@@ -91,6 +103,96 @@ public class CarServiceTest {
         verify(carRepository).findById(carId);
     }
 
+    @Test
+    @DisplayName("Get car by ID twice - second call served from cache")
+    void getById_RepeatedCall_ReadsRepositoryOnce() {
+        Long carId = 1L;
+        Car car = createCar(carId, "ModelX", 5, new BigDecimal("100.00"));
+        CarDto expectedDto = createCarDto(carId, "ModelX", 5, new BigDecimal("100.00"));
+
+        when(carRepository.findById(carId)).thenReturn(Optional.of(car));
+        when(carMapper.toDto(car)).thenReturn(expectedDto);
+
+        carService.getById(carId);
+        CarDto actualDto = carService.getById(carId);
+
+        assertEquals(expectedDto, actualDto);
+        verify(carRepository).findById(carId);
+    }
+
+    @Test
+    @DisplayName("Get car invalidated while loading - stale result is not cached")
+    void getById_InvalidatedDuringLoad_NotCached() {
+        Long carId = 1L;
+        Car car = createCar(carId, "ModelX", 5, new BigDecimal("100.00"));
+        CarDto expectedDto = createCarDto(carId, "ModelX", 5, new BigDecimal("100.00"));
+
+        when(carRepository.findById(carId)).thenAnswer(invocation -> {
+            carCatalogCache.evictCar(carId);
+            return Optional.of(car);
+        });
+        when(carMapper.toDto(car)).thenReturn(expectedDto);
+
+        carService.getById(carId);
+        carService.getById(carId);
+
+        verify(carRepository, times(2)).findById(carId);
+    }
+
+    @Test
+    @DisplayName("Find all cars twice - second call served from cache")
+    void findAll_RepeatedCall_ReadsRepositoryOnce() {
+        Car car1 = createCar(1L, "Car1", 5, new BigDecimal("100.00"));
+        CarDto carDto1 = createCarDto(1L, "Car1", 5, new BigDecimal("100.00"));
+        Pageable pageable = Pageable.ofSize(10);
+
+        when(carRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(car1)));
+        when(carMapper.toDto(car1)).thenReturn(carDto1);
+
+        carService.findAll(pageable);
+        Page<CarDto> actualPage = carService.findAll(pageable);
+
+        assertEquals(List.of(carDto1), actualPage.getContent());
+        verify(carRepository).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("Find all cars invalidated while loading - stale page is not cached")
+    void findAll_InvalidatedDuringLoad_NotCached() {
+        Car car1 = createCar(1L, "Car1", 5, new BigDecimal("100.00"));
+        CarDto carDto1 = createCarDto(1L, "Car1", 5, new BigDecimal("100.00"));
+        Pageable pageable = Pageable.ofSize(10);
+
+        when(carRepository.findAll(pageable)).thenAnswer(invocation -> {
+            carCatalogCache.evictCatalog(2L);
+            return new PageImpl<>(List.of(car1));
+        });
+        when(carMapper.toDto(car1)).thenReturn(carDto1);
+
+        carService.findAll(pageable);
+        carService.findAll(pageable);
+
+        verify(carRepository, times(2)).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("Delete car - cached car and pages are invalidated")
+    void delete_CachedCar_InvalidatesCatalog() {
+        Long carId = 1L;
+        Car car = createCar(carId, "ModelX", 5, new BigDecimal("100.00"));
+        CarDto carDto = createCarDto(carId, "ModelX", 5, new BigDecimal("100.00"));
+
+        when(carRepository.findById(carId)).thenReturn(Optional.of(car));
+        when(carMapper.toDto(car)).thenReturn(carDto);
+        when(carRepository.existsById(carId)).thenReturn(true);
+
+        carService.getById(carId);
+        carService.delete(carId);
+        carService.getById(carId);
+
+        verify(carRepository, times(2)).findById(carId);
+    }
+
     @Test
     @DisplayName("Get car by invalid ID - throws EntityNotFoundException")
     void getById_InvalidId_ThrowsEntityNotFoundException() {
@@ -113,6 +215,7 @@ public class CarServiceTest {
 
         verify(carRepository).existsById(carId);
         verify(carRepository).deleteById(carId);
+        verify(inventoryService).evict(carId);
     }
 
     @Test
@@ -0,0 +1,85 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.cache.CarCatalogCache;
+import carsharingapp.repository.CarRepository;
+import carsharingapp.service.impl.InventoryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryServiceTest {
+    @Mock
+    private CarRepository carRepository;
+    @Mock
+    private CarCatalogCache carCatalogCache;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    @Test
+    @DisplayName("Reserve car with available units - success")
+    void reserve_AvailableCar_ReturnsTrue() {
+        Long carId = 1L;
+        when(carRepository.decrementInventory(carId)).thenReturn(1);
+
+        assertTrue(inventoryService.reserve(carId));
+        verify(carRepository).decrementInventory(carId);
+        verify(carCatalogCache).evictCar(carId);
+    }
+
+    @Test
+    @DisplayName("Reserve sold out car twice - database consulted, catalog evicted once")
+    void reserve_SoldOutCar_DatabaseStillDecides() {
+        Long carId = 1L;
+        when(carRepository.decrementInventory(carId)).thenReturn(0);
+
+        assertFalse(inventoryService.reserve(carId));
+        assertFalse(inventoryService.reserve(carId));
+        verify(carRepository, times(2)).decrementInventory(carId);
+        verify(carCatalogCache).evictCar(carId);
+        assertEquals(2, meterRegistry.get("inventory.rejections")
+                .tag("source", "database").counter().count());
+    }
+
+    @Test
+    @DisplayName("Reserve after reconciliation with no units - stock returned elsewhere is taken")
+    void reserve_ReconciledSoldOutCar_DecrementsInDatabase() {
+        Long carId = 1L;
+        when(carRepository.findAllInventory()).thenReturn(Map.of(carId, 0));
+        when(carRepository.decrementInventory(carId)).thenReturn(1);
+
+        inventoryService.reconcile();
+
+        assertTrue(inventoryService.reserve(carId));
+        verify(carRepository).decrementInventory(carId);
+    }
+
+    @Test
+    @DisplayName("Release car - clears sold out state")
+    void release_SoldOutCar_AllowsNextReservation() {
+        Long carId = 1L;
+        when(carRepository.decrementInventory(carId)).thenReturn(0, 1);
+
+        assertFalse(inventoryService.reserve(carId));
+        inventoryService.release(carId);
+
+        assertTrue(inventoryService.reserve(carId));
+        verify(carRepository).incrementInventory(carId);
+    }
+}
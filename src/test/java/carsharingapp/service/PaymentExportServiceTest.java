@@ -0,0 +1,75 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.payment.PaymentExportDto;
+import carsharingapp.dto.payment.PaymentExportFilterDto;
+import carsharingapp.model.Payment;
+import carsharingapp.repository.PaymentRepository;
+import carsharingapp.service.impl.PaymentExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentExportServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final PaymentExportFilterDto filter = new PaymentExportFilterDto();
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Export within the deadline - every payment written")
+    void exportPayments_WithinDeadline_WritesAllRows() {
+        when(paymentRepository.streamForExport(null, null, null, null))
+                .thenReturn(Stream.of(createPayment(1L), createPayment(2L)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        createService(Duration.ofMinutes(1)).exportPayments(filter, output,
+                PaymentExportService.Format.NDJSON);
+
+        assertEquals(2, output.toString(StandardCharsets.UTF_8).strip().split("\n").length);
+    }
+
+    @Test
+    @DisplayName("Export past the deadline - aborted before the next row")
+    void exportPayments_DeadlinePassed_ThrowsTransactionTimedOutException() {
+        when(paymentRepository.streamForExport(null, null, null, null))
+                .thenReturn(Stream.of(createPayment(1L), createPayment(2L)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PaymentExportServiceImpl exportService = createService(Duration.ZERO);
+
+        assertThrows(TransactionTimedOutException.class, () -> exportService.exportPayments(
+                filter, output, PaymentExportService.Format.NDJSON));
+        assertEquals("", output.toString(StandardCharsets.UTF_8).strip());
+    }
+
+    private PaymentExportServiceImpl createService(Duration timeout) {
+        return new PaymentExportServiceImpl(paymentRepository, transactionManager, objectMapper,
+                timeout);
+    }
+
+    private PaymentExportDto createPayment(Long id) {
+        return new PaymentExportDto(id, Payment.Type.PAYMENT, Payment.Status.PAID,
+                new BigDecimal("100.00"), "cs_test_" + id, LocalDateTime.of(2025, 7, 8, 12, 0));
+    }
+}
@@ -0,0 +1,122 @@
+package carsharingapp.service;
+
+import static carsharingapp.util.TestUtil.createRental;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.dto.payment.PaymentRequestDto;
+import carsharingapp.dto.payment.PaymentResponseDto;
+import carsharingapp.mapper.PaymentMapper;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import carsharingapp.payment.CheckoutSession;
+import carsharingapp.payment.PaymentGateway;
+import carsharingapp.repository.PaymentRepository;
+import carsharingapp.repository.RentalRepository;
+import carsharingapp.security.CustomUserDetailsService;
+import carsharingapp.service.impl.PaymentServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentServiceTest {
+    private static final Long USER_ID = 1L;
+    private static final Long RENTAL_ID = 7L;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private RentalRepository rentalRepository;
+    @Mock
+    private PaymentMapper paymentMapper;
+    @Mock
+    private PaymentGateway paymentGateway;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private Authentication authentication;
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    private Rental rental;
+
+    @BeforeEach
+    void setUp() {
+        rental = createRental(RENTAL_ID, 7L, USER_ID, LocalDate.now(),
+                LocalDate.now().plusDays(7), null);
+        rental.getCar().setDailyFee(new BigDecimal("80.00"));
+        when(customUserDetailsService.getUserIdFromAuthentication(authentication))
+                .thenReturn(USER_ID);
+        when(rentalRepository.findByUser_IdAndId(USER_ID, RENTAL_ID))
+                .thenReturn(Optional.of(rental));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Create payment session again - existing payment returned without Stripe")
+    void createPaymentSession_ExistingPayment_ReturnsExisting() {
+        Payment payment = createPayment("cs_test_1");
+        PaymentResponseDto expectedDto = new PaymentResponseDto().setSessionId("cs_test_1");
+        when(paymentRepository.findById(RENTAL_ID)).thenReturn(Optional.of(payment));
+        when(paymentMapper.toDto(payment)).thenReturn(expectedDto);
+
+        PaymentResponseDto actualDto = paymentService.createPaymentSession(authentication,
+                createRequest());
+
+        assertEquals(expectedDto, actualDto);
+        verify(paymentGateway, never()).createCheckoutSession(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Create payment session - Stripe called with rental-derived idempotency key")
+    void createPaymentSession_NewPayment_SavesStripeSession() {
+        PaymentResponseDto expectedDto = new PaymentResponseDto().setSessionId("cs_test_1");
+        when(paymentRepository.findById(RENTAL_ID)).thenReturn(Optional.empty());
+        when(paymentGateway.createCheckoutSession(new BigDecimal("80.00"),
+                "payment-session:7:PAYMENT:80.00"))
+                .thenReturn(new CheckoutSession("cs_test_1", "https://checkout/cs_test_1"));
+        when(paymentRepository.saveAndFlush(any(Payment.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentMapper.toDto(any(Payment.class))).thenReturn(expectedDto);
+
+        PaymentResponseDto actualDto = paymentService.createPaymentSession(authentication,
+                createRequest());
+
+        assertEquals(expectedDto, actualDto);
+        verify(paymentRepository).saveAndFlush(any(Payment.class));
+    }
+
+    private PaymentRequestDto createRequest() {
+        return new PaymentRequestDto()
+                .setRentalId(RENTAL_ID)
+                .setPaymentType(Payment.Type.PAYMENT.name());
+    }
+
+    private Payment createPayment(String sessionId) {
+        Payment payment = new Payment();
+        payment.setId(RENTAL_ID);
+        payment.setRental(rental);
+        payment.setType(Payment.Type.PAYMENT);
+        payment.setStatus(Payment.Status.PENDING);
+        payment.setSessionId(sessionId);
+        return payment;
+    }
+}
@@ -0,0 +1,168 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.Payment;
+import carsharingapp.model.StripeEvent;
+import carsharingapp.notification.NotificationService;
+import carsharingapp.payment.PaymentEvent;
+import carsharingapp.payment.PaymentGateway;
+import carsharingapp.repository.PaymentRepository;
+import carsharingapp.repository.StripeEventRepository;
+import carsharingapp.service.impl.PaymentWebhookServiceImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentWebhookServiceTest {
+    private static final String PAYLOAD = "{}";
+    private static final String SIGNATURE = "t=1,v1=signature";
+
+    @Mock
+    private PaymentGateway paymentGateway;
+    @Mock
+    private StripeEventRepository stripeEventRepository;
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ReportService reportService;
+    @InjectMocks
+    private PaymentWebhookServiceImpl paymentWebhookService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentWebhookService, "batchSize", 10);
+        ReflectionTestUtils.setField(paymentWebhookService, "reconciliationLookback",
+                Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Handle duplicate webhook delivery - second insert is ignored")
+    void handleEvent_DuplicateEvent_Ignored() {
+        when(paymentGateway.parseWebhookEvent(PAYLOAD, SIGNATURE)).thenReturn(
+                new PaymentEvent("evt_1", "checkout.session.completed", "cs_test_1", true));
+        when(stripeEventRepository.saveAndFlush(any(StripeEvent.class)))
+                .thenReturn(new StripeEvent())
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        paymentWebhookService.handleEvent(PAYLOAD, SIGNATURE);
+        paymentWebhookService.handleEvent(PAYLOAD, SIGNATURE);
+
+        verify(paymentRepository, never()).findAllBySessionIdInAndStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("Handle unpaid or unrelated event - not queued")
+    void handleEvent_UnpaidSession_NotQueued() {
+        when(paymentGateway.parseWebhookEvent(PAYLOAD, SIGNATURE)).thenReturn(
+                new PaymentEvent("evt_1", "checkout.session.completed", "cs_test_1", false));
+
+        paymentWebhookService.handleEvent(PAYLOAD, SIGNATURE);
+
+        verify(stripeEventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Apply pending events - payments marked paid in one batch")
+    void applyPendingEvents_QueuedEvents_MarksPaymentsPaid() {
+        Payment payment = createPayment(1L, "cs_test_1");
+        mockTransactions();
+        StripeEvent event = createEvent("evt_1", "cs_test_1");
+        when(stripeEventRepository.findByProcessedFalseOrderByReceivedAtAsc(Limit.of(10)))
+                .thenReturn(List.of(event));
+        when(paymentRepository.findAllBySessionIdInAndStatus(List.of("cs_test_1"),
+                Payment.Status.PENDING)).thenReturn(List.of(payment));
+        when(paymentRepository.markPaid(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Set.of(1L));
+
+        paymentWebhookService.applyPendingEvents();
+
+        assertEquals(Payment.Status.PAID, payment.getStatus());
+        assertNotNull(payment.getPaidAt());
+        assertTrue(event.isProcessed());
+        verify(notificationService).sendPaymentSuccessNotification(payment);
+        verify(reportService).recordPaymentsPaid(List.of(payment));
+    }
+
+    @Test
+    @DisplayName("Reconcile - sessions paid without a webhook are marked paid")
+    void reconcile_MissedEvent_MarksPaymentPaid() {
+        Payment payment = createPayment(2L, "cs_test_2");
+        mockTransactions();
+        when(paymentGateway.findPaidSessionIds(any())).thenReturn(List.of("cs_test_2"));
+        when(paymentRepository.findAllBySessionIdInAndStatus(List.of("cs_test_2"),
+                Payment.Status.PENDING)).thenReturn(List.of(payment));
+        when(paymentRepository.markPaid(eq(List.of(2L)), any(LocalDateTime.class)))
+                .thenReturn(Set.of(2L));
+
+        paymentWebhookService.reconcile();
+
+        assertEquals(Payment.Status.PAID, payment.getStatus());
+        verify(notificationService).sendPaymentSuccessNotification(payment);
+    }
+
+    @Test
+    @DisplayName("Reconcile a payment another run already marked paid - not notified twice")
+    void reconcile_PaymentClaimedByConcurrentRun_NotNotifiedOrRecorded() {
+        Payment payment = createPayment(3L, "cs_test_3");
+        mockTransactions();
+        when(paymentGateway.findPaidSessionIds(any())).thenReturn(List.of("cs_test_3"));
+        when(paymentRepository.findAllBySessionIdInAndStatus(List.of("cs_test_3"),
+                Payment.Status.PENDING)).thenReturn(List.of(payment));
+        when(paymentRepository.markPaid(eq(List.of(3L)), any(LocalDateTime.class)))
+                .thenReturn(Set.of());
+
+        paymentWebhookService.reconcile();
+
+        assertEquals(Payment.Status.PENDING, payment.getStatus());
+        verify(notificationService, never()).sendPaymentSuccessNotification(any());
+        verify(reportService).recordPaymentsPaid(List.of());
+    }
+
+    private void mockTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private Payment createPayment(Long id, String sessionId) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setSessionId(sessionId);
+        payment.setStatus(Payment.Status.PENDING);
+        return payment;
+    }
+
+    private StripeEvent createEvent(String id, String sessionId) {
+        StripeEvent event = new StripeEvent();
+        event.setId(id);
+        event.setType("checkout.session.completed");
+        event.setSessionId(sessionId);
+        event.setReceivedAt(LocalDateTime.now());
+        return event;
+    }
+}
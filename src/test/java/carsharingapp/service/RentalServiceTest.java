@@ -5,18 +5,29 @@ import static carsharingapp.util.TestUtil.createRental;
 import static carsharingapp.util.TestUtil.createRentalResponseDto;
 import static carsharingapp.util.TestUtil.createUser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import carsharingapp.availability.CarAvailabilityIndex;
+import carsharingapp.dto.rental.BulkRentalReturnRequestDto;
+import carsharingapp.dto.rental.RentalPeriodDto;
 import carsharingapp.dto.rental.RentalRequestDto;
 import carsharingapp.dto.rental.RentalResponseDto;
+import carsharingapp.dto.rental.RentalReturnItemDto;
+import carsharingapp.dto.rental.RentalReturnReportDto;
+import carsharingapp.dto.rental.RentalReturnResultDto;
 import carsharingapp.dto.rental.RentalUpdateDto;
 import carsharingapp.exception.NotificationException;
+import carsharingapp.exception.RentalPeriodException;
 import carsharingapp.mapper.RentalMapper;
 import carsharingapp.model.Car;
 import carsharingapp.model.Rental;
@@ -26,16 +37,26 @@ import carsharingapp.repository.CarRepository;
 import carsharingapp.repository.RentalRepository;
 import carsharingapp.repository.UserRepository;
 import carsharingapp.service.impl.RentalServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class RentalServiceTest {
@@ -50,11 +71,24 @@ public class RentalServiceTest {
     @Mock
     private NotificationService notificationService;
     @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+    @Mock
+    private ReportService reportService;
+    @Mock
     private Authentication authentication;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private RentalServiceImpl rentalService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rentalService, "maxDaysAhead", 365);
+    }
+
     @Test
     @DisplayName("Create rental - success")
     void createRental_AvailableCar_Success() throws NotificationException {
@@ -76,7 +110,9 @@ public class RentalServiceTest {
         String email = "user@example.com";
         when(authentication.getName()).thenReturn(email);
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(carRepository.findById(carId)).thenReturn(Optional.of(availableCar));
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(availableCar));
+        when(carAvailabilityIndex.tryBook(carId, 5, rentalDate, returnDate)).thenReturn(true);
+        when(inventoryService.reserve(carId)).thenReturn(true);
         lenient().when(rentalMapper.toEntity(any(RentalRequestDto.class)))
                 .thenAnswer(invocation -> {
                     RentalRequestDto argDto = invocation.getArgument(0);
@@ -84,14 +120,13 @@ public class RentalServiceTest {
                             argDto.getRentalDate(), argDto.getReturnDate(), null);
                 });
         when(rentalRepository.save(any(Rental.class))).thenReturn(savedRental);
-        when(carRepository.save(any(Car.class))).thenReturn(availableCar);
         when(rentalMapper.toDto(any(Rental.class))).thenReturn(expectedDto);
         doNothing().when(notificationService).sendRentalCreationNotification(any(Rental.class));
 
         RentalResponseDto actualDto = rentalService.createRental(authentication, requestDto);
 
         assertEquals(expectedDto, actualDto);
-        assertEquals(4, availableCar.getInventory());
+        verify(inventoryService).reserve(carId);
         verify(notificationService).sendRentalCreationNotification(savedRental);
     }
 
@@ -103,46 +138,183 @@ public class RentalServiceTest {
                 .setCarId(carId)
                 .setRentalDate(LocalDate.now())
                 .setReturnDate(LocalDate.now().plusWeeks(1));
-        Car unavailableCar = createCar(carId, 0);
+        Car unavailableCar = createCar(carId, 1);
 
-        when(carRepository.findById(carId)).thenReturn(Optional.of(unavailableCar));
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(unavailableCar));
+        when(carAvailabilityIndex.tryBook(carId, 1, requestDto.getRentalDate(),
+                requestDto.getReturnDate())).thenReturn(true);
+        when(inventoryService.reserve(carId)).thenReturn(false);
 
         Exception exception = assertThrows(IllegalStateException.class,
                 () -> rentalService.createRental(authentication, requestDto));
         assertEquals("Car with id " + carId + " is not available", exception.getMessage());
+        verify(carAvailabilityIndex).cancel(carId, requestDto.getRentalDate(),
+                requestDto.getReturnDate());
     }
 
     @Test
-    @DisplayName("Get rentals by user ID - returns filtered list")
-    void getRentalsByUserId_ValidArgs_ReturnsFilteredList() {
-        Long userId = 1L;
-        LocalDate rentalDate = LocalDate.now().minusDays(5);
-        LocalDate returnDate = LocalDate.now().plusDays(5);
-        LocalDate actualReturnDate = LocalDate.now().minusDays(2);
+    @DisplayName("Create rental starting later - booked without taking a unit")
+    void createRental_FuturePeriod_BooksWithoutReservingInventory() {
+        Long carId = 1L;
+        LocalDate rentalDate = LocalDate.now().plusDays(10);
+        LocalDate returnDate = rentalDate.plusDays(4);
+        final RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(carId)
+                .setRentalDate(rentalDate)
+                .setReturnDate(returnDate);
+        Rental savedRental = createRental(1L, carId, 1L, rentalDate, returnDate, null);
 
-        Rental activeRental = createRental(1L, 1L, userId,
-                rentalDate, returnDate, null);
-        Rental inactiveRental = createRental(2L, 2L, userId,
-                rentalDate.minusDays(10), returnDate.minusDays(3), actualReturnDate);
-        List<Rental> allRentals = List.of(activeRental, inactiveRental);
+        when(authentication.getName()).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(createUser(1L)));
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(createCar(carId, 1)));
+        when(carAvailabilityIndex.tryBook(carId, 1, rentalDate, returnDate)).thenReturn(true);
+        when(rentalRepository.save(any(Rental.class))).thenReturn(savedRental);
 
-        RentalResponseDto activeDto = createRentalResponseDto(activeRental);
-        RentalResponseDto inactiveDto = createRentalResponseDto(inactiveRental);
+        rentalService.createRental(authentication, requestDto);
 
-        when(rentalRepository.getRentalsByUser_Id(userId)).thenReturn(allRentals);
-        when(rentalMapper.toDto(activeRental)).thenReturn(activeDto);
-        when(rentalMapper.toDto(inactiveRental)).thenReturn(inactiveDto);
+        verify(inventoryService, never()).reserve(carId);
+        verify(rentalRepository).save(argThat(rental -> !rental.isInventoryReserved()
+                && rental.getRentalDate().equals(rentalDate)
+                && rental.getReturnDate().equals(returnDate)));
+    }
 
-        List<RentalResponseDto> actualActive = rentalService.getRentalsByUserId(userId, true);
-        assertEquals(1, actualActive.size());
-        assertEquals(activeDto, actualActive.get(0));
+    @Test
+    @DisplayName("Create rental overlapping booked days - throws IllegalStateException")
+    void createRental_PeriodFullyBooked_ThrowsIllegalStateException() {
+        Long carId = 1L;
+        LocalDate rentalDate = LocalDate.now().plusDays(10);
+        final RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(carId)
+                .setRentalDate(rentalDate)
+                .setReturnDate(rentalDate.plusDays(4));
 
-        List<RentalResponseDto> actualInactive = rentalService.getRentalsByUserId(userId, false);
-        assertEquals(1, actualInactive.size());
-        assertEquals(inactiveDto, actualInactive.get(0));
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(createCar(carId, 1)));
+        when(carAvailabilityIndex.tryBook(carId, 1, rentalDate, rentalDate.plusDays(4)))
+                .thenReturn(false);
+        List<RentalPeriodDto> openRentals = List.of(new RentalPeriodDto(carId,
+                rentalDate.minusDays(1), rentalDate.plusDays(2), false));
+        when(rentalRepository.findAllOpenRentalPeriodsByCarId(carId)).thenReturn(openRentals);
 
-        verify(rentalRepository, times(2))
-                .getRentalsByUser_Id(userId);
+        assertThrows(IllegalStateException.class,
+                () -> rentalService.createRental(authentication, requestDto));
+        verify(carAvailabilityIndex).resync(carId, openRentals);
+        verify(carAvailabilityIndex, never()).book(any(), any(), any());
+        verify(inventoryService, never()).reserve(carId);
+    }
+
+    @Test
+    @DisplayName("Create rental the index turned down - booked when the database has a unit")
+    void createRental_StaleIndex_BookedAfterDatabaseCheck() {
+        Long carId = 1L;
+        LocalDate rentalDate = LocalDate.now().plusDays(10);
+        LocalDate returnDate = rentalDate.plusDays(4);
+        final RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(carId)
+                .setRentalDate(rentalDate)
+                .setReturnDate(returnDate);
+
+        when(authentication.getName()).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(createUser(1L)));
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(createCar(carId, 1)));
+        when(carAvailabilityIndex.tryBook(carId, 1, rentalDate, returnDate)).thenReturn(false);
+        when(rentalRepository.findAllOpenRentalPeriodsByCarId(carId)).thenReturn(List.of());
+        when(rentalRepository.save(any(Rental.class)))
+                .thenReturn(createRental(1L, carId, 1L, rentalDate, returnDate, null));
+
+        rentalService.createRental(authentication, requestDto);
+
+        verify(carAvailabilityIndex).resync(carId, List.of());
+        verify(carAvailabilityIndex).book(carId, rentalDate, returnDate);
+        verify(rentalRepository).save(any(Rental.class));
+    }
+
+    @Test
+    @DisplayName("Create rental booked on another node - rejected by the database check")
+    void createRental_LastUnitBookedElsewhere_ThrowsIllegalStateException() {
+        Long carId = 1L;
+        LocalDate rentalDate = LocalDate.now().plusDays(10);
+        LocalDate returnDate = rentalDate.plusDays(4);
+        final RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(carId)
+                .setRentalDate(rentalDate)
+                .setReturnDate(returnDate);
+
+        when(carRepository.findByIdForUpdate(carId)).thenReturn(Optional.of(createCar(carId, 1)));
+        when(carAvailabilityIndex.tryBook(carId, 1, rentalDate, returnDate)).thenReturn(true);
+        when(rentalRepository.findOpenRentalPeriodsByCarId(carId, rentalDate, returnDate))
+                .thenReturn(List.of(new RentalPeriodDto(carId, rentalDate.plusDays(2),
+                        returnDate.plusDays(2), false)));
+
+        assertThrows(IllegalStateException.class,
+                () -> rentalService.createRental(authentication, requestDto));
+        verify(carAvailabilityIndex).cancel(carId, rentalDate, returnDate);
+        verify(rentalRepository, never()).save(any(Rental.class));
+    }
+
+    @Test
+    @DisplayName("Create rental with return before rental date - throws RentalPeriodException")
+    void createRental_ReturnBeforeRentalDate_ThrowsRentalPeriodException() {
+        RentalRequestDto requestDto = new RentalRequestDto()
+                .setCarId(1L)
+                .setRentalDate(LocalDate.now().plusDays(3))
+                .setReturnDate(LocalDate.now().plusDays(1));
+
+        assertThrows(RentalPeriodException.class,
+                () -> rentalService.createRental(authentication, requestDto));
+    }
+
+    @Test
+    @DisplayName("Activate due rentals - takes a unit for each booking that has started")
+    void activateDueRentals_DueBookings_ReservesInventory() {
+        Rental due = createRental(1L, 1L, 1L, LocalDate.now(), LocalDate.now().plusDays(3), null);
+        Rental overbooked = createRental(2L, 2L, 1L, LocalDate.now(),
+                LocalDate.now().plusDays(3), null);
+        when(rentalRepository.findUnreservedRentalsStartingBy(LocalDate.now()))
+                .thenReturn(List.of(due, overbooked));
+        when(inventoryService.reserve(1L)).thenReturn(true);
+        when(inventoryService.reserve(2L)).thenReturn(false);
+
+        rentalService.activateDueRentals();
+
+        assertTrue(due.isInventoryReserved());
+        assertFalse(due.isActivationFailed());
+        assertFalse(overbooked.isInventoryReserved());
+        assertTrue(overbooked.isActivationFailed());
+        verify(carAvailabilityIndex).holdUnit(1L);
+        verify(carAvailabilityIndex, never()).holdUnit(2L);
+        verify(notificationService).sendRentalActivationFailedNotification(overbooked);
+        verify(notificationService, never()).sendRentalActivationFailedNotification(due);
+    }
+
+    @Test
+    @DisplayName("Get rentals by user ID - filter is pushed to the repository")
+    void getRentalsByUserId_ValidArgs_ReturnsFilteredPage() {
+        Long userId = 1L;
+        LocalDate rentalDate = LocalDate.now().minusDays(5);
+        LocalDate returnDate = LocalDate.now().plusDays(5);
+        LocalDate actualReturnDate = LocalDate.now().minusDays(2);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        RentalResponseDto activeDto = createRentalResponseDto(createRental(1L, 1L, userId,
+                rentalDate, returnDate, null));
+        RentalResponseDto inactiveDto = createRentalResponseDto(createRental(2L, 2L, userId,
+                rentalDate.minusDays(10), returnDate.minusDays(3), actualReturnDate));
+
+        when(rentalRepository.findActiveRentalsByUserId(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(activeDto)));
+        when(rentalRepository.findReturnedRentalsByUserId(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(inactiveDto)));
+        when(rentalRepository.findRentalsByUserId(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(activeDto, inactiveDto)));
+
+        assertEquals(List.of(activeDto),
+                rentalService.getRentalsByUserId(userId, true, pageable).getContent());
+        assertEquals(List.of(inactiveDto),
+                rentalService.getRentalsByUserId(userId, false, pageable).getContent());
+        assertEquals(List.of(activeDto, inactiveDto),
+                rentalService.getRentalsByUserId(userId, null, pageable).getContent());
     }
 
     @Test
@@ -175,6 +347,7 @@ public class RentalServiceTest {
                 LocalDate.now().minusDays(5),
                 LocalDate.now().plusDays(2), null);
         existingRental.setCar(carInRental);
+        existingRental.setInventoryReserved(true);
 
         Rental updatedRental = createRental(rentalId, 1L, 1L,
                 LocalDate.now().minusDays(5),
@@ -184,7 +357,7 @@ public class RentalServiceTest {
 
         RentalResponseDto expectedDto = createRentalResponseDto(updatedRental);
 
-        when(rentalRepository.findById(rentalId)).thenReturn(Optional.of(existingRental));
+        when(rentalRepository.findByIdForUpdate(rentalId)).thenReturn(Optional.of(existingRental));
         when(rentalMapper.toDto(any(Rental.class))).thenReturn(expectedDto);
         doNothing().when(notificationService).sendRentalReturnNotification(any(Rental.class));
 
@@ -195,8 +368,66 @@ public class RentalServiceTest {
 
         assertEquals(expectedDto, actualDto);
         assertEquals(newActualReturnDate, actualDto.getActualReturnDate());
-        assertEquals(1, updatedRental.getCar().getInventory());
-
+        verify(inventoryService).release(carInRental.getId());
+        verify(carAvailabilityIndex).releaseUnit(carInRental.getId());
+        verify(carAvailabilityIndex).cancel(carInRental.getId(), existingRental.getRentalDate(),
+                existingRental.getReturnDate());
         verify(notificationService).sendRentalReturnNotification(any(Rental.class));
     }
+
+    @Test
+    @DisplayName("Return rental the index can't cancel - return still completes")
+    void updateRentalReturnDate_IndexRejectsPeriod_ReturnsRental() {
+        Long rentalId = 1L;
+        Rental existingRental = createRental(rentalId, 1L, 1L, LocalDate.now().minusDays(5),
+                LocalDate.now().minusDays(5), null);
+        existingRental.setCar(createCar(1L, 1));
+        RentalResponseDto expectedDto = createRentalResponseDto(existingRental);
+
+        when(rentalRepository.findByIdForUpdate(rentalId)).thenReturn(Optional.of(existingRental));
+        when(rentalMapper.toDto(any(Rental.class))).thenReturn(expectedDto);
+        doThrow(new IllegalArgumentException("Empty period")).when(carAvailabilityIndex)
+                .cancel(any(), any(), any());
+
+        RentalResponseDto actualDto = rentalService.updateRentalReturnDate(rentalId,
+                new RentalUpdateDto().setReturnDate(LocalDate.now()));
+
+        assertEquals(expectedDto, actualDto);
+        verify(notificationService).sendRentalReturnNotification(existingRental);
+    }
+
+    @Test
+    @DisplayName("Return rentals in bulk - units released once per car, rejects reported")
+    void returnRentals_MixedItems_AggregatesInventoryPerCar() {
+        LocalDate today = LocalDate.now();
+        Rental first = createRental(1L, 1L, 1L, today.minusDays(3), today.plusDays(1), null);
+        Rental second = createRental(2L, 1L, 2L, today.minusDays(2), today.plusDays(2), null);
+        Rental returned = createRental(3L, 2L, 1L, today.minusDays(9), today.minusDays(2),
+                today.minusDays(2));
+        first.setInventoryReserved(true);
+        second.setInventoryReserved(true);
+        when(rentalRepository.findAllWithUserAndCarByIdIn(any()))
+                .thenReturn(List.of(first, second, returned));
+        BulkRentalReturnRequestDto requestDto = new BulkRentalReturnRequestDto().setReturns(List.of(
+                new RentalReturnItemDto().setRentalId(1L).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(2L).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(3L).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(4L).setReturnDate(today),
+                new RentalReturnItemDto().setRentalId(1L).setReturnDate(today)));
+
+        RentalReturnReportDto report = rentalService.returnRentals(requestDto);
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getReturned());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(RentalReturnResultDto.Status.RETURNED,
+                RentalReturnResultDto.Status.RETURNED, RentalReturnResultDto.Status.REJECTED,
+                RentalReturnResultDto.Status.REJECTED, RentalReturnResultDto.Status.REJECTED),
+                report.getItems().stream().map(RentalReturnResultDto::getStatus).toList());
+        assertEquals(today, first.getActualReturnDate());
+        assertEquals(today.minusDays(2), returned.getActualReturnDate());
+        verify(rentalRepository).findAllForUpdateByIdIn(Set.of(1L, 2L, 3L, 4L));
+        verify(inventoryService).releaseAll(Map.of(1L, 2));
+        verify(notificationService).sendRentalReturnNotifications(List.of(first, second));
+    }
 }
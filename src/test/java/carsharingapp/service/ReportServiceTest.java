@@ -0,0 +1,172 @@
+package carsharingapp.service;
+
+import static carsharingapp.util.TestUtil.createRental;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.model.Car;
+import carsharingapp.model.DailyCarTypeStats;
+import carsharingapp.model.Payment;
+import carsharingapp.model.Rental;
+import carsharingapp.model.SweepCheckpoint;
+import carsharingapp.repository.DailyCarTypeStatsRepository;
+import carsharingapp.repository.SweepCheckpointRepository;
+import carsharingapp.service.impl.ReportServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 7);
+
+    @Mock
+    private DailyCarTypeStatsRepository statsRepository;
+    @Mock
+    private SweepCheckpointRepository checkpointRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private ReportServiceImpl reportService;
+
+    @Test
+    @DisplayName("Record returns - one delta per day and car type, missing rows inserted")
+    void recordRentalsReturned_NewDay_IncrementsAndInsertsMissingRows() {
+        Rental sedan = createRental(1L, 1L, 1L, DAY.minusDays(3), DAY, DAY);
+        Rental otherSedan = createRental(2L, 2L, 1L, DAY.minusDays(2), DAY, DAY);
+        Rental suv = createRental(3L, 3L, 2L, DAY.minusDays(1), DAY, DAY);
+        suv.getCar().setType(Car.Type.SUV);
+        when(statsRepository.incrementAll(anyList())).thenAnswer(invocation -> invocation
+                .<List<DailyCarTypeStats>>getArgument(0).stream()
+                .filter(delta -> delta.getCarType() == Car.Type.SUV)
+                .toList());
+
+        reportService.recordRentalsReturned(List.of(sedan, otherSedan, suv));
+
+        verify(statsRepository).incrementAll(argThat(deltas -> deltas.size() == 2
+                && returnedOf(deltas, Car.Type.SEDAN) == 2
+                && returnedOf(deltas, Car.Type.SUV) == 1));
+        verify(statsRepository).insertAll(argThat(rows -> rows.size() == 1
+                && returnedOf(rows, Car.Type.SUV) == 1));
+    }
+
+    @Test
+    @DisplayName("Record payments with a concurrent insert - increments retried once")
+    void recordPaymentsPaid_ConcurrentInsert_RetriesIncrement() {
+        Payment payment = createPayment(1L, Payment.Type.PAYMENT, "480.00");
+        Payment fine = createPayment(2L, Payment.Type.FINE, "120.00");
+        DailyCarTypeStats[] inserted = new DailyCarTypeStats[1];
+        when(statsRepository.incrementAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<DailyCarTypeStats> deltas = invocation.getArgument(0);
+                    inserted[0] = deltas.get(0);
+                    return deltas;
+                })
+                .thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(statsRepository).insertAll(anyList());
+
+        reportService.recordPaymentsPaid(List.of(payment, fine));
+
+        verify(statsRepository, times(2)).incrementAll(anyList());
+        assertEquals(new BigDecimal("480.00"), inserted[0].getPaymentRevenue());
+        assertEquals(new BigDecimal("120.00"), inserted[0].getFineRevenue());
+        assertEquals(0, meterRegistry.counter("report.stats.failures").count());
+    }
+
+    @Test
+    @DisplayName("Rebuild a period reaching into the future - stops at today")
+    void rebuild_PeriodEndsInFuture_ReplacesDaysUpToToday() {
+        LocalDate today = LocalDate.now();
+        DailyCarTypeStats sedan = new DailyCarTypeStats(today, Car.Type.SEDAN);
+        when(statsRepository.countFleet()).thenReturn(Map.of(Car.Type.SEDAN, 6));
+        when(statsRepository.aggregateDay(any())).thenReturn(List.of(sedan));
+
+        int days = reportService.rebuild(today.minusDays(2), today.plusDays(5));
+
+        assertEquals(3, days);
+        assertEquals(6, sedan.getFleetSize());
+        verify(statsRepository).replaceDay(eq(today), anyList());
+        verify(statsRepository, never()).replaceDay(eq(today.plusDays(1)), anyList());
+    }
+
+    @Test
+    @DisplayName("Catch up claimed by this node - lookback days rebuilt, run marked completed")
+    void catchUp_Claimed_RebuildsLookbackDays() {
+        ReflectionTestUtils.setField(reportService, "lookbackDays", 3);
+        SweepCheckpoint checkpoint = new SweepCheckpoint();
+        when(checkpointRepository.claimRun(any(), eq(LocalDate.now()))).thenReturn(1);
+        when(checkpointRepository.findById(any())).thenReturn(Optional.of(checkpoint));
+
+        reportService.catchUp();
+
+        verify(statsRepository, times(3)).replaceDay(any(), anyList());
+        assertTrue(checkpoint.isCompleted());
+    }
+
+    @Test
+    @DisplayName("Catch up already claimed by another node - nothing rebuilt")
+    void catchUp_ClaimedElsewhere_Skipped() {
+        when(checkpointRepository.claimRun(any(), eq(LocalDate.now()))).thenReturn(0);
+        when(checkpointRepository.existsById(any())).thenReturn(true);
+
+        reportService.catchUp();
+
+        verify(statsRepository, never()).replaceDay(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Catch up racing another node's first run - insert conflict means skipped")
+    void catchUp_FirstRunInsertConflict_Skipped() {
+        when(checkpointRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        reportService.catchUp();
+
+        verify(statsRepository, never()).replaceDay(any(), anyList());
+    }
+
+    private int returnedOf(Collection<DailyCarTypeStats> rows, Car.Type type) {
+        return rows.stream()
+                .filter(row -> row.getCarType() == type && row.getStatDate().equals(DAY))
+                .mapToInt(DailyCarTypeStats::getRentalsReturned)
+                .sum();
+    }
+
+    private Payment createPayment(Long id, Payment.Type type, String amount) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setType(type);
+        payment.setStatus(Payment.Status.PAID);
+        payment.setAmountToPay(new BigDecimal(amount));
+        payment.setPaidAt(DAY.atTime(12, 0));
+        payment.setRental(createRental(id, id, 1L, DAY.minusDays(7), DAY, DAY));
+        return payment;
+    }
+}
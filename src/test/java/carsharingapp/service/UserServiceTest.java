@@ -0,0 +1,116 @@
+package carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import carsharingapp.mapper.UserMapper;
+import carsharingapp.model.User;
+import carsharingapp.notification.TelegramChatIdCache;
+import carsharingapp.repository.RoleRepository;
+import carsharingapp.repository.UserRepository;
+import carsharingapp.security.AuthenticationCache;
+import carsharingapp.service.impl.UserServiceImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceTest {
+    private static final String LINK_TOKEN = "link-token";
+    private static final String CHAT_ID = "42";
+
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private AuthenticationCache authenticationCache;
+    @Mock
+    private TelegramChatIdCache telegramChatIdCache;
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "botUsername", "test_bot");
+        ReflectionTestUtils.setField(userService, "updatesMode", "long-polling");
+        ReflectionTestUtils.setField(userService, "linkTokenTtl", Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Link Telegram chat with a fresh token - chat linked, token cleared")
+    void linkTelegramChat_FreshToken_LinksChat() {
+        User user = createUser(LocalDateTime.now().minusMinutes(1));
+        when(userRepository.findByTgLinkToken(LINK_TOKEN)).thenReturn(Optional.of(user));
+
+        assertTrue(userService.linkTelegramChat(LINK_TOKEN, CHAT_ID));
+        assertEquals(CHAT_ID, user.getTgChatId());
+        assertNull(user.getTgLinkToken());
+        verify(telegramChatIdCache).put(1L, CHAT_ID);
+    }
+
+    @Test
+    @DisplayName("Link Telegram chat with an expired token - rejected and token cleared")
+    void linkTelegramChat_ExpiredToken_Rejected() {
+        User user = createUser(LocalDateTime.now().minusMinutes(16));
+        when(userRepository.findByTgLinkToken(LINK_TOKEN)).thenReturn(Optional.of(user));
+
+        assertFalse(userService.linkTelegramChat(LINK_TOKEN, CHAT_ID));
+        assertNull(user.getTgChatId());
+        assertNull(user.getTgLinkToken());
+        verify(telegramChatIdCache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("Link Telegram chat already linked to another account - rejected")
+    void linkTelegramChat_ChatOfAnotherAccount_Rejected() {
+        User user = createUser(LocalDateTime.now());
+        when(userRepository.findByTgLinkToken(LINK_TOKEN)).thenReturn(Optional.of(user));
+        when(userRepository.existsByTgChatIdAndIdNot(CHAT_ID, 1L)).thenReturn(true);
+
+        assertFalse(userService.linkTelegramChat(LINK_TOKEN, CHAT_ID));
+        assertNull(user.getTgChatId());
+        assertEquals(LINK_TOKEN, user.getTgLinkToken());
+    }
+
+    @Test
+    @DisplayName("Start with updates enabled and no bot username - fails")
+    void validate_MissingBotUsername_Throws() {
+        ReflectionTestUtils.setField(userService, "botUsername", "");
+
+        assertThrows(IllegalStateException.class,
+                () -> ReflectionTestUtils.invokeMethod(userService, "validate"));
+
+        ReflectionTestUtils.setField(userService, "updatesMode", "disabled");
+        ReflectionTestUtils.invokeMethod(userService, "validate");
+    }
+
+    private User createUser(LocalDateTime tokenIssuedAt) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        user.setTgLinkToken(LINK_TOKEN);
+        user.setTgLinkTokenIssuedAt(tokenIssuedAt);
+        return user;
+    }
+}
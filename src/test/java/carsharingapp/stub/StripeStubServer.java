@@ -0,0 +1,150 @@
+package carsharingapp.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class StripeStubServer implements AutoCloseable {
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions";
+    private static final String ERROR_RESPONSE =
+            "{\"error\":{\"type\":\"api_error\",\"message\":\"Stub failure\"}}";
+    private static final String IDEMPOTENCY_CONFLICT_RESPONSE =
+            "{\"error\":{\"type\":\"idempotency_error\","
+                    + "\"message\":\"Another request with this key is in progress\"}}";
+
+    private final HttpServer server;
+    private final Map<String, String> sessionsByIdempotencyKey = new ConcurrentHashMap<>();
+    private final Set<String> inProgressKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> paidSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionSequence = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean failing;
+    private volatile boolean failingNextPages;
+
+    public StripeStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getApiBase() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int getCreatedSessionCount() {
+        return sessionSequence.get();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public void markPaid(String sessionId) {
+        paidSessions.add(sessionId);
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public void setFailingNextPages(boolean failingNextPages) {
+        this.failingNextPages = failingNextPages;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        if (idempotencyKey != null && !inProgressKeys.add(idempotencyKey)) {
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 409, IDEMPOTENCY_CONFLICT_RESPONSE);
+            return;
+        }
+        try {
+            serve(exchange, idempotencyKey);
+        } finally {
+            if (idempotencyKey != null) {
+                inProgressKeys.remove(idempotencyKey);
+            }
+        }
+    }
+
+    private void serve(HttpExchange exchange, String idempotencyKey) throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        if (failing) {
+            respond(exchange, 500, ERROR_RESPONSE);
+        } else if ("POST".equals(exchange.getRequestMethod()) && path.equals(SESSIONS_PATH)) {
+            String sessionId = idempotencyKey == null
+                    ? nextSessionId()
+                    : sessionsByIdempotencyKey.computeIfAbsent(idempotencyKey,
+                            key -> nextSessionId());
+            respond(exchange, 200, session(sessionId));
+        } else if (path.equals(SESSIONS_PATH)) {
+            String query = exchange.getRequestURI().getRawQuery();
+            boolean nextPage = query != null && query.contains("starting_after");
+            if (failingNextPages && nextPage) {
+                respond(exchange, 500, ERROR_RESPONSE);
+            } else {
+                respond(exchange, 200, sessionList(failingNextPages));
+            }
+        } else if (path.startsWith(SESSIONS_PATH + "/")) {
+            respond(exchange, 200, session(path.substring(SESSIONS_PATH.length() + 1)));
+        } else {
+            respond(exchange, 404, "{\"error\":{\"type\":\"invalid_request_error\"}}");
+        }
+    }
+
+    private String nextSessionId() {
+        return "cs_test_" + sessionSequence.incrementAndGet();
+    }
+
+    private String session(String sessionId) {
+        String paymentStatus = paidSessions.contains(sessionId) ? "paid" : "unpaid";
+        return "{\"id\":\"" + sessionId + "\",\"object\":\"checkout.session\","
+                + "\"url\":\"https://checkout.stripe.com/c/pay/" + sessionId + "\","
+                + "\"payment_status\":\"" + paymentStatus + "\"}";
+    }
+
+    private String sessionList(boolean hasMore) {
+        String data = paidSessions.stream()
+                .map(this::session)
+                .collect(Collectors.joining(","));
+        return "{\"object\":\"list\",\"url\":\"" + SESSIONS_PATH + "\","
+                + "\"has_more\":" + hasMore + ",\"data\":[" + data + "]}";
+    }
+
+    private void respond(HttpExchange exchange, int status, String response) throws IOException {
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
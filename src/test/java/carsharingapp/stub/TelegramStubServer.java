@@ -0,0 +1,119 @@
+package carsharingapp.stub;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+public class TelegramStubServer implements AutoCloseable {
+    private static final String OK_RESPONSE = "{\"ok\":true,\"result\":[]}";
+    private static final String ERROR_RESPONSE = "{\"ok\":false,\"error_code\":%d}";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final List<Map<String, String>> sentMessages = new CopyOnWriteArrayList<>();
+    private final List<String> requestPaths = new CopyOnWriteArrayList<>();
+    private final Map<Long, String> pendingUpdates = new ConcurrentSkipListMap<>();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int errorStatus;
+
+    public TelegramStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getApiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/bot";
+    }
+
+    public List<Map<String, String>> getSentMessages() {
+        return sentMessages;
+    }
+
+    public List<String> getRequestPaths() {
+        return requestPaths;
+    }
+
+    public void addUpdate(long updateId, long chatId, String text) {
+        pendingUpdates.put(updateId, String.format(
+                "{\"update_id\":%d,\"message\":{\"message_id\":%d,"
+                        + "\"chat\":{\"id\":%d,\"type\":\"private\"},\"text\":\"%s\"}}",
+                updateId, updateId, chatId, text));
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setFailing(boolean failing) {
+        this.errorStatus = failing ? 500 : 0;
+    }
+
+    public void setErrorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        requestPaths.add(path);
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        boolean failing = errorStatus != 0;
+        String response = failing ? ERROR_RESPONSE.formatted(errorStatus) : OK_RESPONSE;
+        if (!failing && path.endsWith("/sendMessage")) {
+            sentMessages.add(OBJECT_MAPPER.readValue(exchange.getRequestBody(),
+                    new TypeReference<>() {
+                    }));
+        } else if (!failing && path.endsWith("/getUpdates")) {
+            long offset = Long.parseLong(query.getOrDefault("offset", "0"));
+            response = pendingUpdates.entrySet().stream()
+                    .filter(update -> update.getKey() >= offset)
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.joining(",", "{\"ok\":true,\"result\":[", "]}"));
+        }
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(failing ? errorStatus : 200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            parameters.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                    keyValue.length > 1
+                            ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,3 @@
+INSERT INTO payments (id, type, status, is_deleted, session_url, session_id, amount_to_pay, created_at, paid_at) VALUES
+    (7, 'PAYMENT', 'PENDING', FALSE, 'https://checkout.example.com/7', 'cs_test_7', 560.00, '2025-07-15 10:00:00', NULL),
+    (8, 'PAYMENT', 'PAID', FALSE, 'https://checkout.example.com/8', 'cs_test_8', 480.00, '2025-07-08 12:00:00', '2025-07-08 12:05:00');
@@ -0,0 +1,7 @@
+INSERT INTO cars (id, model, brand, type, inventory, daily_fee, is_deleted) VALUES
+    (101, 'Camry', 'Toyota', 'SEDAN', 2, 60.00, FALSE),
+    (102, 'Civic', 'Honda', 'SEDAN', 0, 70.00, FALSE),
+    (103, 'X5', 'BMW', 'SUV', 1, 150.00, FALSE),
+    (104, 'RAV4', 'Toyota', 'SUV', 3, 90.00, FALSE),
+    (105, 'Yaris', 'Toyota', 'HATCHBACK', 4, 80.00, FALSE),
+    (106, 'Prius', 'Toyota', 'HATCHBACK', 6, 85.00, TRUE);
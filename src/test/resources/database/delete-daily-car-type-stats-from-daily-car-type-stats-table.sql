@@ -0,0 +1 @@
+DELETE FROM daily_car_type_stats;
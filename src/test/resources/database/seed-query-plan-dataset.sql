@@ -0,0 +1,29 @@
+INSERT INTO users (id, email, password, first_name, last_name, tg_chat_id, is_deleted)
+SELECT g, 'user' || g || '@example.com', 'password', 'First' || g, 'Last' || g, g, FALSE
+FROM generate_series(1, 20000) AS g;
+
+INSERT INTO cars (id, model, brand, type, inventory, daily_fee, is_deleted)
+SELECT g, 'Model' || g, 'Brand' || (g % 20),
+       (ARRAY['SEDAN', 'SUV', 'HATCHBACK', 'UNIVERSAL'])[1 + g % 4], g % 7, 50 + g % 100, FALSE
+FROM generate_series(1, 20000) AS g;
+
+INSERT INTO rentals (id, rental_date, return_date, actual_return_date, car_id, user_id, is_deleted)
+SELECT g,
+       DATE '2024-01-01' + (g % 500),
+       DATE '2024-01-08' + (g % 500),
+       CASE WHEN g % 50 = 0 THEN NULL ELSE DATE '2024-01-07' + (g % 500) END,
+       1 + g % 500,
+       1 + g % 20000,
+       FALSE
+FROM generate_series(1, 400000) AS g;
+
+INSERT INTO payments (id, type, status, is_deleted, session_url, session_id, amount_to_pay,
+                      created_at)
+SELECT g, 'PAYMENT', 'PAID', FALSE, 'https://checkout.example.com/' || g, 'cs_test_' || g, 100,
+       TIMESTAMP '2024-01-01 00:00:00' + g * INTERVAL '1 minute'
+FROM generate_series(1, 400000, 2) AS g;
+
+ANALYZE users;
+ANALYZE cars;
+ANALYZE rentals;
+ANALYZE payments;